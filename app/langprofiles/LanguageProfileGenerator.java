@@ -0,0 +1,41 @@
+import com.vladimirkondenko.yamblz.model.detection.NgramProfile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Builds the language profiles from the corpus, one text file per language named by its code.
+ * See README.md.
+ */
+public class LanguageProfileGenerator {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: LanguageProfileGenerator <corpus dir> <output file> <profile size>");
+            System.exit(1);
+        }
+        File[] files = new File(args[0]).listFiles((dir, name) -> name.endsWith(".txt"));
+        Arrays.sort(files);
+        int size = Integer.parseInt(args[2]);
+        Writer writer = new OutputStreamWriter(new FileOutputStream(args[1]), UTF_8);
+        try {
+            writer.write("# Generated by app/langprofiles/LanguageProfileGenerator, do not edit\n");
+            for (File file : files) {
+                String lang = file.getName().substring(0, file.getName().length() - ".txt".length());
+                String text = new String(Files.readAllBytes(file.toPath()), UTF_8);
+                NgramProfile.build(lang, text, size).writeTo(writer);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class DbSavedTranslationsServiceImplTest {
+
+    // Every translation wants the same id
+    private static final long COLLIDING_ID = 42;
+
+    private ExecutorService databaseThread;
+    private Realm realm;
+    private DatabaseExecutor executor;
+    private WriteBehindQueue writeQueue;
+    private DbSavedTranslationsServiceImpl service;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getTargetContext();
+        Realm.init(context);
+        RealmConfiguration configuration = new RealmConfiguration.Builder()
+                .name("saved-translations-test.realm")
+                .inMemory()
+                .schemaVersion(Migration.SCHEMA_VERSION)
+                .build();
+        databaseThread = Executors.newSingleThreadExecutor();
+        executor = new DatabaseExecutor(configuration, databaseThread);
+        // Keeps the in-memory database alive between the tasks of the executor
+        realm = Realm.getInstance(configuration);
+        writeQueue = new WriteBehindQueue(executor, 0);
+        SavedTranslationsFilter filter = new SavedTranslationsFilter(
+                new File(context.getCacheDir(), "saved-translations-test.bloom"), executor, 100, 0.01
+        );
+        service = new DbSavedTranslationsServiceImpl(
+                new Database(realm, executor, writeQueue),
+                new TranslationMemoryCache(16, Long.MAX_VALUE),
+                filter,
+                (inputText, direction) -> COLLIDING_ID
+        );
+    }
+
+    @After
+    public void tearDown() {
+        realm.close();
+        databaseThread.shutdown();
+    }
+
+    @Test
+    public void shouldKeepCollidingTranslationsApart() {
+        service.setSavedToHistory(translation("cat", "en-ru", "кот"), true, 1);
+        service.setSavedToHistory(translation("dog", "en-ru", "собака"), true, 2);
+        writeQueue.flush().blockingAwait();
+
+        Translation cat = service.getIfSaved("cat", "en-ru").blockingGet();
+        Translation dog = service.getIfSaved("dog", "en-ru").blockingGet();
+
+        assertNotNull(cat);
+        assertNotNull(dog);
+        assertEquals("кот", cat.getTranslatedText().first().getValue());
+        assertEquals("собака", dog.getTranslatedText().first().getValue());
+        assertEquals(COLLIDING_ID, cat.getId());
+        assertEquals(COLLIDING_ID + 1, dog.getId());
+    }
+
+    @Test
+    public void shouldReuseIdOfDeletedTranslation() {
+        service.setSavedToHistory(translation("cat", "en-ru", "кот"), true, 1);
+        service.setSavedToHistory(translation("dog", "en-ru", "собака"), true, 2);
+        writeQueue.flush().blockingAwait();
+        service.setSavedToHistory(translation("cat", "en-ru", "кот"), false, 3);
+        service.setSavedToHistory(translation("cow", "en-ru", "корова"), true, 4);
+        writeQueue.flush().blockingAwait();
+
+        Translation dog = service.getIfSaved("dog", "en-ru").blockingGet();
+        Translation cow = service.getIfSaved("cow", "en-ru").blockingGet();
+
+        assertEquals(COLLIDING_ID + 1, dog.getId());
+        assertEquals(COLLIDING_ID, cow.getId());
+        assertTrue(service.getIfSaved("cat", "en-ru").isEmpty().blockingGet());
+        assertEquals(2, (long) executor.query(realm -> realm.where(Translation.class).count()).blockingGet());
+    }
+
+    private static Translation translation(String inputText, String direction, String translatedText) {
+        Translation translation = new Translation(200, direction, Collections.singletonList(translatedText));
+        translation.setInputText(inputText);
+        return translation;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.vladimirkondenko.yamblz.model.entities.CachedTranslation;
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmModel;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class DbTranslationCacheServiceImplTest {
+
+    private static final int MAX_ENTRIES = 3;
+
+    private ExecutorService databaseThread;
+    private Realm realm;
+    private DatabaseExecutor executor;
+    private DbTranslationCacheServiceImpl cache;
+
+    @Before
+    public void setUp() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+        RealmConfiguration configuration = new RealmConfiguration.Builder()
+                .name("translation-cache-test.realm")
+                .inMemory()
+                .schemaVersion(Migration.SCHEMA_VERSION)
+                .build();
+        databaseThread = Executors.newSingleThreadExecutor();
+        executor = new DatabaseExecutor(configuration, databaseThread);
+        // Keeps the in-memory database alive between the tasks of the executor
+        realm = Realm.getInstance(configuration);
+        // Compacts after every write
+        cache = new DbTranslationCacheServiceImpl(executor, TimeUnit.DAYS.toMillis(1), MAX_ENTRIES, 1);
+    }
+
+    @After
+    public void tearDown() {
+        realm.close();
+        databaseThread.shutdown();
+    }
+
+    @Test
+    public void shouldDeleteTextsOfEvictedEntries() {
+        for (int i = 0; i < MAX_ENTRIES * 10; i++) {
+            cache.put("text " + i, translation("en-ru", "first " + i, "second " + i));
+            // Auto mode stores the same translation by the target language too
+            cache.put("text " + i, "ru", translation("en-ru", "first " + i, "second " + i));
+        }
+        cache.compact().blockingAwait();
+
+        assertEquals(MAX_ENTRIES, count(CachedTranslation.class));
+        assertEquals(MAX_ENTRIES * 2, count(RealmString.class));
+    }
+
+    @Test
+    public void shouldDeleteTextsOfReplacedEntry() {
+        for (int i = 0; i < 10; i++) cache.put("text", translation("en-ru", "first " + i, "second " + i));
+        cache.compact().blockingAwait();
+
+        assertEquals(2, count(RealmString.class));
+        assertEquals("first 9", cache.get("text", "en-ru").blockingGet().getTranslatedText().first().getValue());
+    }
+
+    private long count(Class<? extends RealmModel> type) {
+        return executor.query(realm -> realm.where(type).count()).blockingGet();
+    }
+
+    private static Translation translation(String direction, String... texts) {
+        return new Translation(200, direction, Arrays.asList(texts));
+    }
+
+}
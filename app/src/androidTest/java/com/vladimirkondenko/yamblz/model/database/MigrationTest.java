@@ -0,0 +1,162 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.vladimirkondenko.yamblz.model.entities.CachedTranslation;
+import com.vladimirkondenko.yamblz.model.entities.LanguageCatalog;
+import com.vladimirkondenko.yamblz.model.entities.PendingTranslation;
+import com.vladimirkondenko.yamblz.model.entities.SelectedLangs;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.Utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmList;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmSchema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Migrates a database created by the first release, which had 32-bit ids, to the current schema.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String FILE_NAME = "migration-test.realm";
+
+    private Realm realm;
+
+    @Before
+    public void setUp() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+        Realm.deleteRealm(new RealmConfiguration.Builder().name(FILE_NAME).build());
+        createVersion1();
+    }
+
+    @After
+    public void tearDown() {
+        if (realm != null) realm.close();
+        Realm.deleteRealm(new RealmConfiguration.Builder().name(FILE_NAME).build());
+    }
+
+    @Test
+    public void shouldMigrateFromVersion1() {
+        realm = Realm.getInstance(configuration(new Migration()));
+
+        Translation cat = find("cat", "en-ru");
+        Translation dog = find("dog", "en-ru");
+
+        assertEquals(Utils.hash64("cat", "en-ru"), cat.getId());
+        assertEquals(Utils.hash64("dog", "en-ru"), dog.getId());
+        assertEquals("кот", cat.getTranslatedText().first().getValue());
+        assertTrue(cat.isSavedToHistory());
+        assertFalse(cat.isBookmarked());
+        assertTrue(dog.isBookmarked());
+        assertEquals("en", realm.where(SelectedLangs.class).findFirst().getInputLang());
+        assertEquals(1, realm.where(CachedTranslation.class).count());
+        assertEquals(0, realm.where(PendingTranslation.class).count());
+        assertEquals(0, realm.where(LanguageCatalog.class).count());
+    }
+
+    @Test
+    public void shouldProbePastCollidingIds() {
+        realm = Realm.getInstance(configuration(new Migration((inputText, direction) -> 42)));
+
+        Translation cat = find("cat", "en-ru");
+        Translation dog = find("dog", "en-ru");
+
+        assertEquals(2, realm.where(Translation.class).count());
+        assertNotEquals(cat.getId(), dog.getId());
+        assertTrue(cat.getId() == 42 || cat.getId() == 43);
+        assertTrue(dog.getId() == 42 || dog.getId() == 43);
+        assertEquals("собака", dog.getTranslatedText().first().getValue());
+    }
+
+    private Translation find(String inputText, String direction) {
+        Translation translation = realm.where(Translation.class)
+                .equalTo(Translation.FIELD_NAME_INPUT_TEXT, inputText)
+                .equalTo(Translation.FIELD_NAME_DIRECTION, direction)
+                .findFirst();
+        assertNotNull(translation);
+        return translation;
+    }
+
+    private static RealmConfiguration configuration(Migration migration) {
+        return new RealmConfiguration.Builder()
+                .name(FILE_NAME)
+                .schemaVersion(Migration.SCHEMA_VERSION)
+                .migration(migration)
+                .build();
+    }
+
+    // The schema of the first release, with the response cache added by the migration from version 0
+    private static void createVersion1() {
+        RealmConfiguration configuration = new RealmConfiguration.Builder().name(FILE_NAME).schemaVersion(1).build();
+        DynamicRealm realm = DynamicRealm.getInstance(configuration);
+        realm.beginTransaction();
+        RealmSchema schema = realm.getSchema();
+        RealmObjectSchema realmString = schema.create("RealmString")
+                .addField("value", String.class);
+        schema.create("Translation")
+                .addField(Translation.FIELD_NAME_PRIMARY_KEY, int.class, FieldAttribute.PRIMARY_KEY)
+                .addField(Translation.FIELD_NAME_TIMESTAMP, long.class)
+                .addField(Translation.FIELD_NAME_BOOKMARKED, boolean.class)
+                .addField(Translation.FIELD_NAME_SAVED_TO_HISTORY, boolean.class)
+                .addField(Translation.FIELD_NAME_INPUT_TEXT, String.class)
+                .addField("code", Integer.class)
+                .addField(Translation.FIELD_NAME_DIRECTION, String.class)
+                .addRealmListField(Translation.FIELD_NAME_TRANSLATED_TEXT, realmString);
+        schema.create("SelectedLangs")
+                .addField("id", int.class, FieldAttribute.PRIMARY_KEY)
+                .addField("inputLang", String.class)
+                .addField("outputLang", String.class);
+        schema.create("CachedTranslation")
+                .addField(CachedTranslation.FIELD_NAME_KEY, String.class, FieldAttribute.PRIMARY_KEY)
+                .addField(CachedTranslation.FIELD_NAME_INPUT_TEXT, String.class)
+                .addField(CachedTranslation.FIELD_NAME_DIRECTION, String.class)
+                .addRealmListField(CachedTranslation.FIELD_NAME_TRANSLATED_TEXT, realmString)
+                .addField(CachedTranslation.FIELD_NAME_CREATED_AT, long.class, FieldAttribute.INDEXED)
+                .addField(CachedTranslation.FIELD_NAME_ACCESSED_AT, long.class, FieldAttribute.INDEXED);
+        addTranslation(realm, 1, "cat", "en-ru", "кот", false, 100);
+        addTranslation(realm, 2, "dog", "en-ru", "собака", true, 200);
+        DynamicRealmObject selectedLangs = realm.createObject("SelectedLangs", 0);
+        selectedLangs.setString("inputLang", "en");
+        selectedLangs.setString("outputLang", "ru");
+        DynamicRealmObject cachedTranslation = realm.createObject("CachedTranslation", CachedTranslation.createKey("cat", "en-ru"));
+        cachedTranslation.setString(CachedTranslation.FIELD_NAME_INPUT_TEXT, "cat");
+        cachedTranslation.setString(CachedTranslation.FIELD_NAME_DIRECTION, "en-ru");
+        realm.setVersion(1);
+        realm.commitTransaction();
+        realm.close();
+    }
+
+    private static void addTranslation(DynamicRealm realm, int id, String inputText, String direction,
+                                       String translatedText, boolean bookmarked, long timestamp) {
+        DynamicRealmObject translation = realm.createObject("Translation", id);
+        translation.setLong(Translation.FIELD_NAME_TIMESTAMP, timestamp);
+        translation.setBoolean(Translation.FIELD_NAME_BOOKMARKED, bookmarked);
+        translation.setBoolean(Translation.FIELD_NAME_SAVED_TO_HISTORY, true);
+        translation.setString(Translation.FIELD_NAME_INPUT_TEXT, inputText);
+        translation.setInt("code", 200);
+        translation.setString(Translation.FIELD_NAME_DIRECTION, direction);
+        DynamicRealmObject text = realm.createObject("RealmString");
+        text.setString("value", translatedText);
+        RealmList<DynamicRealmObject> texts = translation.getList(Translation.FIELD_NAME_TRANSLATED_TEXT);
+        texts.add(text);
+    }
+
+}
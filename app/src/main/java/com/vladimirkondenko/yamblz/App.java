@@ -1,6 +1,7 @@
 package com.vladimirkondenko.yamblz;
 
 import android.app.Application;
+import android.util.Log;
 
 import com.vladimirkondenko.yamblz.dagger.components.AppComponent;
 import com.vladimirkondenko.yamblz.dagger.components.DaggerAppComponent;
@@ -17,7 +18,9 @@ import com.vladimirkondenko.yamblz.dagger.modules.TranslationModule;
 import com.vladimirkondenko.yamblz.model.database.Database;
 
 public class App extends Application {
-    
+
+    private static final String TAG = "App";
+
     protected static App instance;
 
     protected AppComponent appComponent = null;
@@ -31,6 +34,19 @@ public class App extends Application {
         instance = this;
         appComponent = getAppComponent();
         Database.init(this);
+        appComponent.getOfflineTranslationQueue().start();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // The process may be killed any time once the UI is hidden
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            appComponent.getWriteBehindQueue()
+                    .flush()
+                    .subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to flush database writes", throwable));
+            if (BuildConfig.DEBUG) appComponent.getSchedulers().logMetrics();
+        }
     }
 
     public static App get() {
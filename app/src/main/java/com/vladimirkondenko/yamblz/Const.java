@@ -1,5 +1,7 @@
 package com.vladimirkondenko.yamblz;
 
+import java.util.concurrent.TimeUnit;
+
 public final class Const {
 
     public static final String API_KEY = "trnsl.1.1.20170315T172313Z.162bccb965880b7c.9feba3a457e1a4989e1bb689842c94d6bc9186e4";
@@ -10,11 +12,55 @@ public final class Const {
 
     public static final int MAX_TEXT_LENGTH = 10000;
 
+    // Translation request batching
+    public static final long BATCH_WINDOW_MS = 30;
+    public static final int BATCH_MAX_TEXTS = 32;
+    public static final int BATCH_MAX_CHARS = 2000;
+
+    // Longer texts are translated in segments, a few requests at a time
+    public static final int SEGMENT_MAX_LENGTH = 2000;
+    public static final int SEGMENT_MAX_CONCURRENT_REQUESTS = 4;
+
+    // Input debouncing bounds
+    public static final long DEBOUNCE_MIN_MS = 100;
+    public static final long DEBOUNCE_MAX_MS = 800;
+    public static final long DEBOUNCE_INITIAL_MS = 225;
+
+    // In-memory translation cache limits
+    public static final int MEMORY_CACHE_MAX_ENTRIES = 256;
+    public static final long MEMORY_CACHE_MAX_BYTES = 512 * 1024;
+
+    // Database writes are batched for this long before being committed
+    public static final long WRITE_BEHIND_DELAY_MS = 100;
+
+    // Bloom filter over saved translations
+    public static final String SAVED_FILTER_FILE_NAME = "saved_translations.bloom";
+    public static final int SAVED_FILTER_EXPECTED_ENTRIES = 10000;
+    public static final double SAVED_FILTER_FALSE_POSITIVE_RATE = 0.01;
+
+    // Persistent response cache limits
+    public static final long RESPONSE_CACHE_TTL_MS = TimeUnit.DAYS.toMillis(30);
+    public static final int RESPONSE_CACHE_MAX_ENTRIES = 5000;
+    public static final int RESPONSE_CACHE_COMPACTION_INTERVAL = 100; // Writes between compactions
+
+    // Translations requested while offline are sent this many requests at a time
+    public static final int OFFLINE_QUEUE_MAX_CONCURRENT_REQUESTS = 2;
+
+    // Languages detected on the device with less confidence are detected by the API
+    public static final double DETECTION_MIN_CONFIDENCE = 0.2;
+    // Auto mode only switches to translating from the detected language when it's this sure, otherwise the API detects it
+    public static final double DETECTION_RACE_MIN_CONFIDENCE = 0.7;
+
+    // Stored languages are shown at once, and refreshed in the background once they are older than this
+    public static final long LANGUAGES_TTL_MS = TimeUnit.DAYS.toMillis(7);
+
+    // The language picker ranks the languages of this many latest history entries higher
+    public static final int LANGUAGE_USAGE_HISTORY_SIZE = 100;
+
     // Request keys
     public static final String REQUEST_KEY_API_KEY = "key";
 
-    public static final int INPUT_LANGUAGES_JSON_RES_EN = R.raw.input_languages_en;
-    public static final int INPUT_LANGUAGES_JSON_RES_RU = R.raw.input_languages_ru;
+    public static final int LANGUAGE_PROFILES_RES = R.raw.language_profiles;
 
     public static final String LANG_CODE_AUTO = "auto"; // Autodetection
     public static final String LANG_CODE_EN = "en";
@@ -9,6 +9,9 @@ import com.vladimirkondenko.yamblz.dagger.modules.MainModule;
 import com.vladimirkondenko.yamblz.dagger.modules.NetModule;
 import com.vladimirkondenko.yamblz.dagger.modules.TranslationModule;
 import com.vladimirkondenko.yamblz.model.database.Database;
+import com.vladimirkondenko.yamblz.model.database.WriteBehindQueue;
+import com.vladimirkondenko.yamblz.model.network.OfflineTranslationQueue;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
 import javax.inject.Singleton;
 
@@ -20,4 +23,8 @@ public interface AppComponent {
     MainSubcomponent plus(MainModule mainModule);
     TranslationSubcomponent plus(TranslationModule translationPresenterModule);
     HistorySubcomponent plus(HistoryModule historyModule);
+
+    WriteBehindQueue getWriteBehindQueue();
+    AppSchedulers getSchedulers();
+    OfflineTranslationQueue getOfflineTranslationQueue();
 }
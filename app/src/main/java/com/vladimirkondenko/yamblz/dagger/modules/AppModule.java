@@ -3,7 +3,12 @@ package com.vladimirkondenko.yamblz.dagger.modules;
 import android.app.Application;
 import android.content.Context;
 
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.model.detection.LocalLanguageDetector;
+import com.vladimirkondenko.yamblz.utils.BundledLanguages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndexCache;
 import com.vladimirkondenko.yamblz.utils.RxNetworkBroadcastReceiver;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
 import javax.inject.Singleton;
 
@@ -31,4 +36,28 @@ public class AppModule {
         return new RxNetworkBroadcastReceiver(app);
     }
 
+    @Provides
+    @Singleton
+    public AppSchedulers provideSchedulers() {
+        return new AppSchedulers();
+    }
+
+    @Provides
+    @Singleton
+    public LocalLanguageDetector provideLocalLanguageDetector(Context context, AppSchedulers schedulers) {
+        return new LocalLanguageDetector(context, Const.LANGUAGE_PROFILES_RES, schedulers.computation(), Const.DETECTION_MIN_CONFIDENCE);
+    }
+
+    @Provides
+    @Singleton
+    public BundledLanguages provideBundledLanguages(Context context) {
+        return new BundledLanguages(context);
+    }
+
+    @Provides
+    @Singleton
+    public LanguageIndexCache provideLanguageIndexCache() {
+        return new LanguageIndexCache();
+    }
+
 }
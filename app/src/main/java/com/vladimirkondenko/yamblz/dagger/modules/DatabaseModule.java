@@ -1,7 +1,26 @@
 package com.vladimirkondenko.yamblz.dagger.modules;
 
+import android.content.Context;
+import android.util.Log;
+
 import com.vladimirkondenko.yamblz.BuildConfig;
+import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.model.database.Database;
+import com.vladimirkondenko.yamblz.model.database.DatabaseExecutor;
+import com.vladimirkondenko.yamblz.model.database.DbLanguageCatalogServiceImpl;
+import com.vladimirkondenko.yamblz.model.database.DbPendingTranslationsServiceImpl;
+import com.vladimirkondenko.yamblz.model.database.DbTranslationCacheServiceImpl;
+import com.vladimirkondenko.yamblz.model.database.Migration;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsFilter;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsWriter;
+import com.vladimirkondenko.yamblz.model.database.TranslationMemoryCache;
+import com.vladimirkondenko.yamblz.model.database.WriteBehindQueue;
+import com.vladimirkondenko.yamblz.model.services.DbLanguageCatalogService;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
+
+import java.io.File;
 
 import javax.inject.Singleton;
 
@@ -13,11 +32,17 @@ import io.realm.RealmConfiguration;
 @Module
 public class DatabaseModule {
 
+    private static final String TAG = "DatabaseModule";
+
     @Provides
     @Singleton
     public RealmConfiguration provideRealmConfiguration() {
-        RealmConfiguration.Builder builder = new RealmConfiguration.Builder();
-        if (BuildConfig.DEBUG) builder.deleteRealmIfMigrationNeeded();
+        RealmConfiguration.Builder builder = new RealmConfiguration.Builder().schemaVersion(Migration.SCHEMA_VERSION);
+        if (BuildConfig.DEBUG) {
+            builder.deleteRealmIfMigrationNeeded();
+        } else {
+            builder.migration(new Migration());
+        }
         RealmConfiguration configuration = builder.build();
         Realm.setDefaultConfiguration(configuration);
         return configuration;
@@ -29,8 +54,71 @@ public class DatabaseModule {
     }
 
     @Provides
-    public Database provideDatabase(Realm realm) {
-        return new Database(realm);
+    @Singleton
+    public DatabaseExecutor provideDatabaseExecutor(RealmConfiguration configuration, AppSchedulers schedulers) {
+        return new DatabaseExecutor(configuration, schedulers.getDatabaseExecutor());
+    }
+
+    @Provides
+    @Singleton
+    public WriteBehindQueue provideWriteBehindQueue(DatabaseExecutor executor) {
+        return new WriteBehindQueue(executor, Const.WRITE_BEHIND_DELAY_MS);
+    }
+
+    @Provides
+    public Database provideDatabase(Realm realm, DatabaseExecutor executor, WriteBehindQueue writeQueue) {
+        return new Database(realm, executor, writeQueue);
+    }
+
+    @Provides
+    @Singleton
+    public TranslationMemoryCache provideTranslationMemoryCache() {
+        return new TranslationMemoryCache(Const.MEMORY_CACHE_MAX_ENTRIES, Const.MEMORY_CACHE_MAX_BYTES);
+    }
+
+    @Provides
+    @Singleton
+    public SavedTranslationsFilter provideSavedTranslationsFilter(Context context, DatabaseExecutor executor) {
+        SavedTranslationsFilter filter = new SavedTranslationsFilter(
+                new File(context.getFilesDir(), Const.SAVED_FILTER_FILE_NAME),
+                executor,
+                Const.SAVED_FILTER_EXPECTED_ENTRIES,
+                Const.SAVED_FILTER_FALSE_POSITIVE_RATE
+        );
+        filter.load().subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to load the saved translations filter", throwable));
+        return filter;
+    }
+
+    /**
+     * History written outside of the screens, which own the Realm of the UI thread.
+     */
+    @Provides
+    @Singleton
+    public SavedTranslationsWriter provideSavedTranslationsWriter(WriteBehindQueue writeQueue, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter) {
+        return new SavedTranslationsWriter(writeQueue, memoryCache, savedFilter);
+    }
+
+    @Provides
+    @Singleton
+    public DbTranslationCacheService provideTranslationCacheService(DatabaseExecutor executor) {
+        return new DbTranslationCacheServiceImpl(
+                executor,
+                Const.RESPONSE_CACHE_TTL_MS,
+                Const.RESPONSE_CACHE_MAX_ENTRIES,
+                Const.RESPONSE_CACHE_COMPACTION_INTERVAL
+        );
+    }
+
+    @Provides
+    @Singleton
+    public DbLanguageCatalogService provideLanguageCatalogService(DatabaseExecutor executor) {
+        return new DbLanguageCatalogServiceImpl(executor);
+    }
+
+    @Provides
+    @Singleton
+    public DbPendingTranslationsService providePendingTranslationsService(DatabaseExecutor executor) {
+        return new DbPendingTranslationsServiceImpl(executor);
     }
 
 }
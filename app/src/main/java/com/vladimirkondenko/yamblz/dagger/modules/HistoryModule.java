@@ -3,6 +3,8 @@ package com.vladimirkondenko.yamblz.dagger.modules;
 import com.vladimirkondenko.yamblz.dagger.PerView;
 import com.vladimirkondenko.yamblz.model.database.Database;
 import com.vladimirkondenko.yamblz.model.database.DbSavedTranslationsServiceImpl;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsFilter;
+import com.vladimirkondenko.yamblz.model.database.TranslationMemoryCache;
 import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
 import com.vladimirkondenko.yamblz.screens.history.HistoryInteractor;
 import com.vladimirkondenko.yamblz.screens.history.HistoryPresenter;
@@ -20,8 +22,8 @@ public class HistoryModule extends BaseModule<HistoryView> {
 
     @Provides
     @PerView
-    public DbSavedTranslationsService provideDatabaseService(Database database) {
-        return new DbSavedTranslationsServiceImpl(database);
+    public DbSavedTranslationsService provideDatabaseService(Database database, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter) {
+        return new DbSavedTranslationsServiceImpl(database, memoryCache, savedFilter);
     }
 
     @Provides
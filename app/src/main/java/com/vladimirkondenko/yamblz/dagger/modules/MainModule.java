@@ -1,15 +1,17 @@
 package com.vladimirkondenko.yamblz.dagger.modules;
 
-import android.content.Context;
-
 import com.vladimirkondenko.yamblz.dagger.PerView;
 import com.vladimirkondenko.yamblz.model.database.Database;
 import com.vladimirkondenko.yamblz.model.database.DbLanguagesServiceImpl;
+import com.vladimirkondenko.yamblz.model.services.DbLanguageCatalogService;
 import com.vladimirkondenko.yamblz.model.services.DbLanguagesService;
 import com.vladimirkondenko.yamblz.model.services.NetLanguagesService;
 import com.vladimirkondenko.yamblz.screens.main.MainInteractor;
 import com.vladimirkondenko.yamblz.screens.main.MainPresenter;
 import com.vladimirkondenko.yamblz.screens.main.MainView;
+import com.vladimirkondenko.yamblz.utils.BundledLanguages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndexCache;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
 import dagger.Module;
 import dagger.Provides;
@@ -36,8 +38,8 @@ public class MainModule extends BaseModule<MainView> {
 
     @Provides
     @PerView
-    public MainInteractor provideMainInteractor(Context context, NetLanguagesService netService, DbLanguagesService dbService) {
-        return new MainInteractor(context, netService, dbService);
+    public MainInteractor provideMainInteractor(BundledLanguages bundledLanguages, NetLanguagesService netService, DbLanguagesService dbService, DbLanguageCatalogService catalogService, LanguageIndexCache indexCache, AppSchedulers schedulers) {
+        return new MainInteractor(bundledLanguages, netService, dbService, catalogService, indexCache, schedulers);
     }
 
     @Provides
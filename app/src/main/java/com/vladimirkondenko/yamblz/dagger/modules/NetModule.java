@@ -1,11 +1,20 @@
 package com.vladimirkondenko.yamblz.dagger.modules;
 
+import android.content.Context;
+
 import com.facebook.stetho.okhttp3.StethoInterceptor;
 import com.google.gson.Gson;
 import com.vladimirkondenko.yamblz.BuildConfig;
 import com.vladimirkondenko.yamblz.Const;
-import com.vladimirkondenko.yamblz.utils.RealmGson;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsWriter;
+import com.vladimirkondenko.yamblz.model.network.OfflineTranslationQueue;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.utils.RxNetworkBroadcastReceiver;
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
 import com.vladimirkondenko.yamblz.utils.interceptors.ApiKeyInterceptor;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
 import javax.inject.Singleton;
 
@@ -30,7 +39,33 @@ public class NetModule {
     @Provides
     @Singleton
     public Gson provideGson() {
-        return RealmGson.create();
+        return ApiGson.create();
+    }
+
+    /**
+     * Sends its own requests rather than going through the batching service of the translation screen,
+     * and has its own network receiver, which the screen can't unregister.
+     */
+    @Provides
+    @Singleton
+    public OfflineTranslationQueue provideOfflineTranslationQueue(
+            Context context,
+            Retrofit retrofit,
+            DbPendingTranslationsService pendingService,
+            DbTranslationCacheService cacheService,
+            SavedTranslationsWriter savedWriter,
+            AppSchedulers schedulers) {
+        return new OfflineTranslationQueue(
+                retrofit.create(NetTranslationService.class),
+                pendingService,
+                cacheService,
+                savedWriter,
+                new RxNetworkBroadcastReceiver(context),
+                schedulers.network(),
+                Const.BATCH_MAX_TEXTS,
+                Const.MAX_TEXT_LENGTH,
+                Const.OFFLINE_QUEUE_MAX_CONCURRENT_REQUESTS
+        );
     }
 
     @Provides
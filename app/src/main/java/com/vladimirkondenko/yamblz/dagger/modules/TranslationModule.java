@@ -1,17 +1,32 @@
 package com.vladimirkondenko.yamblz.dagger.modules;
 
 
+import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.dagger.PerView;
 import com.vladimirkondenko.yamblz.model.database.Database;
 import com.vladimirkondenko.yamblz.model.database.DbSavedTranslationsServiceImpl;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsFilter;
+import com.vladimirkondenko.yamblz.model.database.TranslationMemoryCache;
+import com.vladimirkondenko.yamblz.model.detection.FallbackLanguageDetector;
+import com.vladimirkondenko.yamblz.model.detection.LanguageDetector;
+import com.vladimirkondenko.yamblz.model.detection.LocalLanguageDetector;
+import com.vladimirkondenko.yamblz.model.detection.NetLanguageDetector;
+import com.vladimirkondenko.yamblz.model.network.BatchingTranslationService;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
 import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
 import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.screens.translation.TranslationDocument;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationInteractor;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationPresenter;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationView;
+import com.vladimirkondenko.yamblz.utils.AdaptiveDebouncer;
+import com.vladimirkondenko.yamblz.utils.TextSegmenter;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
 import dagger.Module;
 import dagger.Provides;
+import io.reactivex.android.schedulers.AndroidSchedulers;
 import retrofit2.Retrofit;
 
 @Module
@@ -23,20 +38,56 @@ public class TranslationModule extends BaseModule<TranslationView> {
 
     @Provides
     @PerView
-    public NetTranslationService provideTranslationService(Retrofit retrofit) {
-        return retrofit.create(NetTranslationService.class);
+    public NetTranslationService provideTranslationService(Retrofit retrofit, AppSchedulers schedulers) {
+        return new BatchingTranslationService(
+                retrofit.create(NetTranslationService.class),
+                schedulers.network(),
+                Const.BATCH_WINDOW_MS,
+                Const.BATCH_MAX_TEXTS,
+                // Segments of a long text fill a batch each and are sent in parallel
+                Const.BATCH_MAX_CHARS
+        );
     }
 
     @Provides
     @PerView
-    public DbSavedTranslationsService provideDatabaseService(Database database) {
-        return new DbSavedTranslationsServiceImpl(database);
+    public AdaptiveDebouncer provideInputDebouncer() {
+        return new AdaptiveDebouncer(
+                AndroidSchedulers.mainThread(),
+                Const.DEBOUNCE_MIN_MS,
+                Const.DEBOUNCE_MAX_MS,
+                Const.DEBOUNCE_INITIAL_MS
+        );
     }
 
     @Provides
     @PerView
-    public TranslationInteractor provideTranslationInteractor(NetTranslationService netService, DbSavedTranslationsService databaseService) {
-        return new TranslationInteractor(netService, databaseService);
+    public LanguageDetector provideLanguageDetector(LocalLanguageDetector localDetector, NetTranslationService netService) {
+        return new FallbackLanguageDetector(localDetector, new NetLanguageDetector(netService));
+    }
+
+    @Provides
+    @PerView
+    public TextSegmenter provideTextSegmenter() {
+        return new TextSegmenter(Const.SEGMENT_MAX_LENGTH);
+    }
+
+    @Provides
+    @PerView
+    public TranslationDocument provideTranslationDocument() {
+        return new TranslationDocument();
+    }
+
+    @Provides
+    @PerView
+    public DbSavedTranslationsService provideDatabaseService(Database database, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter) {
+        return new DbSavedTranslationsServiceImpl(database, memoryCache, savedFilter);
+    }
+
+    @Provides
+    @PerView
+    public TranslationInteractor provideTranslationInteractor(NetTranslationService netService, DbSavedTranslationsService databaseService, DbTranslationCacheService cacheService, DbPendingTranslationsService pendingService, AdaptiveDebouncer inputDebouncer, TextSegmenter segmenter, TranslationDocument document, LanguageDetector detector) {
+        return new TranslationInteractor(netService, databaseService, cacheService, pendingService, inputDebouncer, segmenter, document, detector);
     }
 
     @Provides
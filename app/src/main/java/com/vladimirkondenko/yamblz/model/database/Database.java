@@ -17,8 +17,10 @@ public class Database {
     private static final String TAG = "Database";
 
     @Inject
-    public Database(Realm realm) {
+    public Database(Realm realm, DatabaseExecutor executor, WriteBehindQueue writeQueue) {
         this.realm = realm;
+        this.executor = executor;
+        this.writeQueue = writeQueue;
     }
 
     public static void init(Context context) {
@@ -36,11 +38,21 @@ public class Database {
     }
 
     private Realm realm;
+    private DatabaseExecutor executor;
+    private WriteBehindQueue writeQueue;
 
     public Realm getRealm() {
         return realm;
     }
 
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
+    public WriteBehindQueue getWriteQueue() {
+        return writeQueue;
+    }
+
     public void close() {
         if (realm != null && !realm.isClosed()) {
             realm.close();
@@ -0,0 +1,102 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Maybe;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+
+/**
+ * Runs database work on a dedicated thread which holds its own Realm instance.
+ * <p>
+ * The instance is opened for the first task and closed once there are no more tasks queued.
+ * The thread has no looper, so a Realm kept open forever would never see
+ * the changes made on other threads.
+ */
+public class DatabaseExecutor {
+
+    private final RealmConfiguration configuration;
+    private final Scheduler scheduler;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong taskCount = new AtomicLong();
+
+    // Only accessed on the database thread
+    private Realm realm = null;
+
+    /**
+     * @param executor has to run tasks one at a time on the same thread
+     */
+    public DatabaseExecutor(RealmConfiguration configuration, Executor executor) {
+        this.configuration = configuration;
+        this.scheduler = Schedulers.from(task -> {
+            int depth = queueDepth.incrementAndGet();
+            updateMaxQueueDepth(depth);
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    taskCount.incrementAndGet();
+                    if (queueDepth.decrementAndGet() == 0) closeRealm();
+                }
+            });
+        });
+    }
+
+    /**
+     * Runs tasks on the executor passed in, so tests control the database thread through it.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Must only be called on the database thread, e.g. inside a task of {@link #getScheduler()}.
+     */
+    public Realm getRealm() {
+        if (realm == null || realm.isClosed()) realm = Realm.getInstance(configuration);
+        return realm;
+    }
+
+    /**
+     * Runs the query on the database thread.
+     * The query must return a value detached from Realm, or null if there is none.
+     */
+    public <T> Maybe<T> query(Function<Realm, T> query) {
+        return Maybe.fromCallable(() -> query.apply(getRealm())).subscribeOn(getScheduler());
+    }
+
+    /**
+     * Number of tasks which are either running or waiting to run.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getTaskCount() {
+        return taskCount.get();
+    }
+
+    private void updateMaxQueueDepth(int depth) {
+        int max;
+        do {
+            max = maxQueueDepth.get();
+        } while (depth > max && !maxQueueDepth.compareAndSet(max, depth));
+    }
+
+    private void closeRealm() {
+        if (realm != null && !realm.isClosed()) realm.close();
+        realm = null;
+    }
+
+}
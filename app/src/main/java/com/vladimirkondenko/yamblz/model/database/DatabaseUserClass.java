@@ -11,10 +11,15 @@ import io.realm.RealmResults;
 
 public abstract class DatabaseUserClass {
 
+    // Confined to the UI thread, database work on other threads goes through the executor
     protected Realm realm;
+    protected DatabaseExecutor executor;
+    protected WriteBehindQueue writeQueue;
 
     public DatabaseUserClass(Database database) {
         this.realm = database.getRealm();
+        this.executor = database.getExecutor();
+        this.writeQueue = database.getWriteQueue();
     }
 
     public void performTransaction(Runnable operation) {
@@ -0,0 +1,55 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.vladimirkondenko.yamblz.model.entities.LanguageCatalog;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.model.services.DbLanguageCatalogService;
+
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+
+/**
+ * Stores the language catalog fetched for every UI locale.
+ * All reads and writes run on the database thread.
+ */
+public class DbLanguageCatalogServiceImpl implements DbLanguageCatalogService {
+
+    private static final String TAG = "DbLanguageCatalog";
+
+    private final DatabaseExecutor executor;
+    private final Gson gson = new Gson();
+
+    public DbLanguageCatalogServiceImpl(DatabaseExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Maybe<Languages> get(String locale) {
+        return executor.query(realm -> {
+            LanguageCatalog catalog = realm.where(LanguageCatalog.class)
+                    .equalTo(LanguageCatalog.FIELD_NAME_LOCALE, locale)
+                    .findFirst();
+            if (catalog == null) return null;
+            Languages languages = gson.fromJson(catalog.getJson(), Languages.class);
+            languages.setUserLanguageCode(locale);
+            languages.setFetchedAt(catalog.getFetchedAt());
+            return languages;
+        });
+    }
+
+    @Override
+    public void put(Languages languages) {
+        LanguageCatalog catalog = new LanguageCatalog(
+                languages.getUserLanguageCode(),
+                gson.toJson(languages),
+                languages.getFetchedAt()
+        );
+        Completable.fromAction(() -> executor.getRealm()
+                .executeTransaction(transaction -> transaction.copyToRealmOrUpdate(catalog)))
+                .subscribeOn(executor.getScheduler())
+                .subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to store the languages", throwable));
+    }
+
+}
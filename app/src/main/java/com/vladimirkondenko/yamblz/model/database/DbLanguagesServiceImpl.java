@@ -1,10 +1,19 @@
 package com.vladimirkondenko.yamblz.model.database;
 
 import com.vladimirkondenko.yamblz.model.entities.SelectedLangs;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
 import com.vladimirkondenko.yamblz.model.services.DbLanguagesService;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.inject.Inject;
 
+import io.reactivex.Single;
+import io.realm.Realm;
+import io.realm.RealmResults;
+import io.realm.Sort;
+
 public class DbLanguagesServiceImpl extends DatabaseUserClass implements DbLanguagesService {
 
     @Inject
@@ -14,14 +23,20 @@ public class DbLanguagesServiceImpl extends DatabaseUserClass implements DbLangu
 
     @Override
     public void saveLangs(String inputLang, String outputLang) {
-        performTransaction(() -> {
-                    SelectedLangs langs = new SelectedLangs();
-                    langs.setInputLang(inputLang);
-                    langs.setOutputLang(outputLang);
-                    realm.copyToRealmOrUpdate(langs);
-                }
-        );
+        // Only the last selection matters, so the pending one is replaced
+        writeQueue.enqueue("selectedLangs", new WriteBehindQueue.Mutation() {
+            @Override
+            public void apply(Realm realm) {
+                SelectedLangs langs = new SelectedLangs();
+                langs.setInputLang(inputLang);
+                langs.setOutputLang(outputLang);
+                realm.copyToRealmOrUpdate(langs);
+            }
 
+            @Override
+            public void onCommitted() {
+            }
+        });
     }
 
     public SelectedLangs getSelectedLangs() {
@@ -32,4 +47,22 @@ public class DbLanguagesServiceImpl extends DatabaseUserClass implements DbLangu
         return getSelectedLangs() != null;
     }
 
+    @Override
+    public Single<Map<String, Integer>> getLanguageUsage(int historySize) {
+        return executor.query(realm -> {
+            RealmResults<Translation> history = realm.where(Translation.class)
+                    .equalTo(Translation.FIELD_NAME_SAVED_TO_HISTORY, true)
+                    .findAllSorted(Translation.FIELD_NAME_TIMESTAMP, Sort.DESCENDING);
+            Map<String, Integer> usage = new HashMap<>();
+            for (int i = 0; i < history.size() && i < historySize; i++) {
+                // Directions are "en-ru", the same language may be on both sides
+                for (String lang : history.get(i).getDirection().split("-")) {
+                    Integer count = usage.get(lang);
+                    usage.put(lang, count == null ? 1 : count + 1);
+                }
+            }
+            return usage;
+        }).toSingle();
+    }
+
 }
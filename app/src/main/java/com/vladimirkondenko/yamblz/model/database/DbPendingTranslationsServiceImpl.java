@@ -0,0 +1,68 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import com.vladimirkondenko.yamblz.model.entities.PendingTranslation;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.realm.Realm;
+import io.realm.Sort;
+
+/**
+ * Written right away rather than through the write-behind queue,
+ * so a request made just before the process dies isn't lost.
+ * All reads and writes run on the database thread.
+ */
+public class DbPendingTranslationsServiceImpl implements DbPendingTranslationsService {
+
+    private final DatabaseExecutor executor;
+
+    public DbPendingTranslationsServiceImpl(DatabaseExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Completable add(String inputText, String direction) {
+        PendingTranslation translation = new PendingTranslation(inputText, direction, System.currentTimeMillis());
+        return write(realm -> realm.copyToRealmOrUpdate(translation));
+    }
+
+    @Override
+    public Completable remove(String inputText, String direction) {
+        return write(realm -> delete(realm, PendingTranslation.createKey(inputText, direction)));
+    }
+
+    @Override
+    public Completable remove(List<PendingTranslation> translations) {
+        List<String> keys = new ArrayList<>(translations.size());
+        for (PendingTranslation translation : translations) keys.add(translation.getKey());
+        return write(realm -> {
+            for (String key : keys) delete(realm, key);
+        });
+    }
+
+    @Override
+    public Single<List<PendingTranslation>> getAll() {
+        return Single.fromCallable(() -> {
+            Realm realm = executor.getRealm();
+            return realm.copyFromRealm(realm.where(PendingTranslation.class)
+                    .findAllSorted(PendingTranslation.FIELD_NAME_CREATED_AT, Sort.ASCENDING));
+        }).subscribeOn(executor.getScheduler());
+    }
+
+    private Completable write(Realm.Transaction transaction) {
+        return Completable.fromAction(() -> executor.getRealm().executeTransaction(transaction))
+                .subscribeOn(executor.getScheduler());
+    }
+
+    private static void delete(Realm realm, String key) {
+        PendingTranslation translation = realm.where(PendingTranslation.class)
+                .equalTo(PendingTranslation.FIELD_NAME_KEY, key)
+                .findFirst();
+        if (translation != null) translation.deleteFromRealm();
+    }
+
+}
@@ -4,60 +4,106 @@ import android.util.Log;
 
 import com.vladimirkondenko.yamblz.model.entities.Translation;
 import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
+import com.vladimirkondenko.yamblz.utils.Utils;
 
-import io.reactivex.Single;
+import io.reactivex.Maybe;
+import io.realm.Realm;
 import io.realm.RealmResults;
 
 import static android.content.ContentValues.TAG;
 
 public class DbSavedTranslationsServiceImpl extends DatabaseUserClass implements DbSavedTranslationsService {
 
-    public DbSavedTranslationsServiceImpl(Database database) {
+    private TranslationMemoryCache memoryCache;
+    private SavedTranslationsFilter savedFilter;
+    private SavedTranslationsWriter writer;
+
+    public DbSavedTranslationsServiceImpl(Database database, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter) {
+        this(database, memoryCache, savedFilter, Utils::hash64);
+    }
+
+    public DbSavedTranslationsServiceImpl(Database database, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter, TranslationIdHash idHash) {
         super(database);
+        this.memoryCache = memoryCache;
+        this.savedFilter = savedFilter;
+        this.writer = new SavedTranslationsWriter(writeQueue, memoryCache, savedFilter, idHash);
     }
 
+    /**
+     * Looks the translation up in the memory cache first and only then in the database,
+     * unless the filter knows it has never been saved.
+     * The database is queried on its own thread, the returned translation is always detached from Realm.
+     */
     @Override
-    public Single<Translation> getIfSaved(String inputText, String direction) {
-        Translation existingTranslation = realm.where(Translation.class)
-                .equalTo(Translation.FIELD_NAME_INPUT_TEXT, inputText)
-                .equalTo(Translation.FIELD_NAME_DIRECTION, direction)
-                .findFirst();
-        if (existingTranslation != null) {
-            Log.i(TAG, "getIfSaved: translation found in database");
-            return Single.just(existingTranslation);
+    public Maybe<Translation> getIfSaved(String inputText, String direction) {
+        Translation cachedTranslation = memoryCache.get(inputText, direction);
+        if (cachedTranslation != null) {
+            return Maybe.just(cachedTranslation);
+        }
+        if (!savedFilter.mightContain(inputText, direction)) {
+            return Maybe.empty();
         }
-        Log.i(TAG, "getIfSaved: not found in database, returning error");
-        return Single.error(new NullPointerException("Translation not saved in database"));
+        return executor.query(realm -> {
+            Translation existingTranslation = realm.where(Translation.class)
+                    .equalTo(Translation.FIELD_NAME_INPUT_TEXT, inputText)
+                    .equalTo(Translation.FIELD_NAME_DIRECTION, direction)
+                    .findFirst();
+            if (existingTranslation == null) {
+                savedFilter.recordFalsePositive();
+                return null;
+            }
+            Log.i(TAG, "getIfSaved: translation found in database");
+            Translation detachedTranslation = realm.copyFromRealm(existingTranslation);
+            memoryCache.put(detachedTranslation);
+            return detachedTranslation;
+        });
+    }
+
+    @Override
+    public void cache(Translation translation, String direction) {
+        memoryCache.put(translation);
+        // Auto mode looks translations up by the target language alone
+        if (!direction.equals(translation.getDirection())) memoryCache.put(direction, translation);
     }
 
     public void setInputText(Translation translation, String inputText) {
-        performTransaction(() -> translation.setInputText(inputText));
+        if (translation.isManaged()) {
+            long id = translation.getId();
+            writeQueue.enqueue("inputText\n" + id, new WriteBehindQueue.Mutation() {
+                @Override
+                public void apply(Realm realm) {
+                    Translation savedTranslation = realm.where(Translation.class)
+                            .equalTo(Translation.FIELD_NAME_PRIMARY_KEY, id)
+                            .findFirst();
+                    if (savedTranslation != null) savedTranslation.setInputText(inputText);
+                }
+
+                @Override
+                public void onCommitted() {
+                }
+            });
+            savedFilter.add(inputText, translation.getDirection());
+        } else {
+            translation.setInputText(inputText);
+        }
     }
 
     public void setSavedToHistory(Translation translation, boolean saveToHistory, long timestamp) {
-        performTransaction(() -> {
-            if (translation.isBookmarked() && !saveToHistory) {
-                if (translation.isManaged()) delete(translation);
-            } else {
-                if (translation.getId() == 0) translation.setId(translation.calculateId());
-                translation.setTimestamp(timestamp);
-                translation.setSavedToHistory(saveToHistory);
-                realm.copyToRealmOrUpdate(translation);
-            }
-        });
+        Translation snapshot = detach(translation);
+        if (!translation.isManaged()) {
+            translation.setSavedToHistory(saveToHistory);
+            translation.setTimestamp(timestamp);
+        }
+        writer.setSavedToHistory(snapshot, saveToHistory, timestamp);
     }
 
     public void setBookmarked(Translation translation, boolean bookmarked, long timestamp) {
-        performTransaction(() -> {
-            if (!translation.isSavedToHistory() && !bookmarked) {
-                if (translation.isManaged()) delete(translation);
-            } else {
-                if (translation.getId() == 0) translation.setId(translation.calculateId());
-                translation.setTimestamp(timestamp);
-                translation.setBookmarked(bookmarked);
-                realm.copyToRealmOrUpdate(translation);
-            }
-        });
+        Translation snapshot = detach(translation);
+        if (!translation.isManaged()) {
+            translation.setBookmarked(bookmarked);
+            translation.setTimestamp(timestamp);
+        }
+        writer.setBookmarked(snapshot, bookmarked, timestamp);
     }
 
     @Override
@@ -74,5 +120,8 @@ public class DbSavedTranslationsServiceImpl extends DatabaseUserClass implements
                 .findAllSortedAsync(Translation.FIELD_NAME_TIMESTAMP);
     }
 
+    private Translation detach(Translation translation) {
+        return translation.isManaged() ? realm.copyFromRealm(translation) : translation;
+    }
 
 }
@@ -0,0 +1,121 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.util.Log;
+
+import com.vladimirkondenko.yamblz.model.entities.CachedTranslation;
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.realm.RealmResults;
+import io.realm.Sort;
+
+/**
+ * Persistent cache of every successful network translation.
+ * All reads and writes run on the database thread.
+ */
+public class DbTranslationCacheServiceImpl implements DbTranslationCacheService {
+
+    private static final String TAG = "DbTranslationCache";
+
+    private static final int TRANSLATION_CODE_OK = 200;
+
+    private final DatabaseExecutor executor;
+
+    private final long ttlMs;
+    private final int maxEntries;
+    private final int compactionInterval;
+
+    // Starts full so the first write after launch compacts the cache
+    private int writesSinceCompaction;
+
+    public DbTranslationCacheServiceImpl(DatabaseExecutor executor, long ttlMs, int maxEntries, int compactionInterval) {
+        this.executor = executor;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.compactionInterval = compactionInterval;
+        this.writesSinceCompaction = compactionInterval;
+    }
+
+    @Override
+    public Maybe<Translation> get(String inputText, String direction) {
+        return executor.query(realm -> {
+            CachedTranslation cachedTranslation = realm.where(CachedTranslation.class)
+                    .equalTo(CachedTranslation.FIELD_NAME_KEY, CachedTranslation.createKey(inputText, direction))
+                    .greaterThan(CachedTranslation.FIELD_NAME_CREATED_AT, now() - ttlMs)
+                    .findFirst();
+            if (cachedTranslation == null) return null;
+            realm.executeTransaction(transaction -> cachedTranslation.setAccessedAt(now()));
+            return toTranslation(cachedTranslation);
+        });
+    }
+
+    @Override
+    public void put(String inputText, Translation translation) {
+        put(inputText, translation.getDirection(), translation);
+    }
+
+    @Override
+    public void put(String inputText, String direction, Translation translation) {
+        CachedTranslation cachedTranslation = new CachedTranslation(inputText, direction, translation, now());
+        Completable write = Completable.fromAction(() -> executor.getRealm().executeTransaction(transaction -> {
+            CachedTranslation existing = transaction.where(CachedTranslation.class)
+                    .equalTo(CachedTranslation.FIELD_NAME_KEY, CachedTranslation.createKey(inputText, direction))
+                    .findFirst();
+            // The update replaces the list, the texts it held would be left behind
+            if (existing != null) existing.getTranslatedText().deleteAllFromRealm();
+            transaction.copyToRealmOrUpdate(cachedTranslation);
+        }));
+        if (shouldCompact()) write = write.andThen(compact());
+        write.subscribeOn(executor.getScheduler())
+                .subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to cache a translation", throwable));
+    }
+
+    @Override
+    public Completable compact() {
+        return Completable.fromAction(() -> executor.getRealm().executeTransaction(transaction -> {
+            RealmResults<CachedTranslation> expired = transaction.where(CachedTranslation.class)
+                    .lessThanOrEqualTo(CachedTranslation.FIELD_NAME_CREATED_AT, now() - ttlMs)
+                    .findAll();
+            int expiredCount = expired.size();
+            // Realm doesn't cascade deletes, the texts of an entry have to go first
+            for (CachedTranslation cachedTranslation : expired) cachedTranslation.getTranslatedText().deleteAllFromRealm();
+            expired.deleteAllFromRealm();
+            RealmResults<CachedTranslation> leastRecentlyUsed = transaction.where(CachedTranslation.class)
+                    .findAllSorted(CachedTranslation.FIELD_NAME_ACCESSED_AT, Sort.ASCENDING);
+            int evictedCount = Math.max(0, leastRecentlyUsed.size() - maxEntries);
+            for (int i = 0; i < evictedCount; i++) {
+                // The results are live, so deleting the first one shifts the rest
+                leastRecentlyUsed.first().getTranslatedText().deleteAllFromRealm();
+                leastRecentlyUsed.deleteFirstFromRealm();
+            }
+            Log.i(TAG, "compact: " + expiredCount + " expired, " + evictedCount + " evicted");
+        })).subscribeOn(executor.getScheduler());
+    }
+
+    private synchronized boolean shouldCompact() {
+        if (++writesSinceCompaction < compactionInterval) return false;
+        writesSinceCompaction = 0;
+        return true;
+    }
+
+    private static Translation toTranslation(CachedTranslation cachedTranslation) {
+        List<String> texts = new ArrayList<>(cachedTranslation.getTranslatedText().size());
+        for (RealmString text : cachedTranslation.getTranslatedText()) {
+            texts.add(text.getValue());
+        }
+        Translation translation = new Translation(TRANSLATION_CODE_OK, cachedTranslation.getDirection(), texts);
+        translation.setInputText(cachedTranslation.getInputText());
+        return translation;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+}
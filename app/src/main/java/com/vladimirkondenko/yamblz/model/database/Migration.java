@@ -0,0 +1,107 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import com.vladimirkondenko.yamblz.model.entities.CachedTranslation;
+import com.vladimirkondenko.yamblz.model.entities.LanguageCatalog;
+import com.vladimirkondenko.yamblz.model.entities.PendingTranslation;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.Utils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import io.realm.DynamicRealm;
+import io.realm.FieldAttribute;
+import io.realm.RealmMigration;
+import io.realm.RealmSchema;
+
+/**
+ * Migrates the database of release builds, debug builds recreate it instead.
+ */
+public class Migration implements RealmMigration {
+
+    public static final long SCHEMA_VERSION = 4;
+
+    private static final String FIELD_NAME_NEW_ID = "newId";
+
+    private final TranslationIdHash idHash;
+
+    public Migration() {
+        this(Utils::hash64);
+    }
+
+    public Migration(TranslationIdHash idHash) {
+        this.idHash = idHash;
+    }
+
+    @Override
+    public void migrate(DynamicRealm realm, long oldVersion, long newVersion) {
+        RealmSchema schema = realm.getSchema();
+        if (oldVersion == 0) {
+            // Response cache
+            schema.create("CachedTranslation")
+                    .addField(CachedTranslation.FIELD_NAME_KEY, String.class, FieldAttribute.PRIMARY_KEY)
+                    .addField(CachedTranslation.FIELD_NAME_INPUT_TEXT, String.class)
+                    .addField(CachedTranslation.FIELD_NAME_DIRECTION, String.class)
+                    .addRealmListField(CachedTranslation.FIELD_NAME_TRANSLATED_TEXT, schema.get("RealmString"))
+                    .addField(CachedTranslation.FIELD_NAME_CREATED_AT, long.class, FieldAttribute.INDEXED)
+                    .addField(CachedTranslation.FIELD_NAME_ACCESSED_AT, long.class, FieldAttribute.INDEXED);
+            oldVersion++;
+        }
+        if (oldVersion == 1) {
+            // 64-bit content hash ids instead of 32-bit ones, collisions are probed past
+            Set<Long> usedIds = new HashSet<>();
+            schema.get("Translation")
+                    .addField(FIELD_NAME_NEW_ID, long.class)
+                    .transform(translation -> {
+                        long id = idHash.hash(
+                                nonNull(translation.getString(Translation.FIELD_NAME_INPUT_TEXT)),
+                                nonNull(translation.getString(Translation.FIELD_NAME_DIRECTION))
+                        );
+                        while (id == 0 || !usedIds.add(id)) id++;
+                        translation.setLong(FIELD_NAME_NEW_ID, id);
+                    })
+                    .removePrimaryKey()
+                    .removeField(Translation.FIELD_NAME_PRIMARY_KEY)
+                    .renameField(FIELD_NAME_NEW_ID, Translation.FIELD_NAME_PRIMARY_KEY)
+                    .addPrimaryKey(Translation.FIELD_NAME_PRIMARY_KEY)
+                    .addIndex(Translation.FIELD_NAME_INPUT_TEXT)
+                    .addIndex(Translation.FIELD_NAME_DIRECTION)
+                    .addIndex(Translation.FIELD_NAME_BOOKMARKED)
+                    .addIndex(Translation.FIELD_NAME_SAVED_TO_HISTORY);
+            oldVersion++;
+        }
+        if (oldVersion == 2) {
+            // Offline translation queue
+            schema.create("PendingTranslation")
+                    .addField(PendingTranslation.FIELD_NAME_KEY, String.class, FieldAttribute.PRIMARY_KEY)
+                    .addField(PendingTranslation.FIELD_NAME_INPUT_TEXT, String.class)
+                    .addField(PendingTranslation.FIELD_NAME_DIRECTION, String.class)
+                    .addField(PendingTranslation.FIELD_NAME_CREATED_AT, long.class, FieldAttribute.INDEXED);
+            oldVersion++;
+        }
+        if (oldVersion == 3) {
+            // Language catalogs
+            schema.create("LanguageCatalog")
+                    .addField(LanguageCatalog.FIELD_NAME_LOCALE, String.class, FieldAttribute.PRIMARY_KEY)
+                    .addField(LanguageCatalog.FIELD_NAME_JSON, String.class)
+                    .addField(LanguageCatalog.FIELD_NAME_FETCHED_AT, long.class);
+            oldVersion++;
+        }
+    }
+
+    private static String nonNull(String string) {
+        return string == null ? "" : string;
+    }
+
+    // Realm compares configurations, and so their migrations, when opening an instance
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Migration;
+    }
+
+    @Override
+    public int hashCode() {
+        return Migration.class.hashCode();
+    }
+
+}
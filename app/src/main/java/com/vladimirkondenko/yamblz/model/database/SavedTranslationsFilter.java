@@ -0,0 +1,200 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.util.Log;
+
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.BloomFilter;
+import com.vladimirkondenko.yamblz.utils.Utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.realm.Realm;
+import io.realm.RealmResults;
+
+/**
+ * A persistent Bloom filter over the keys of saved translations,
+ * lets lookups of new text skip the database query altogether.
+ * <p>
+ * The filter is stored in a file together with the number of saved translations,
+ * and is rebuilt from the database if that number doesn't match on load.
+ * Deleted translations stay in the filter, so it's also rebuilt
+ * when the observed false positive rate grows too high.
+ */
+public class SavedTranslationsFilter {
+
+    private static final String TAG = "SavedTranslationsFilter";
+
+    private static final int FORMAT_VERSION = 1;
+
+    // Definite misses to observe before trusting the observed rate
+    private static final int MIN_NEGATIVE_LOOKUPS = 100;
+    private static final double MAX_FALSE_POSITIVE_RATE_RATIO = 2;
+
+    private final File file;
+    private final DatabaseExecutor executor;
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    // Null until loaded, every lookup has to go to the database until then
+    private BloomFilter filter = null;
+    private boolean isRebuilding = false;
+    // Keys added while the filter is loaded or rebuilt, the new filter may have missed them
+    private final List<String> pendingKeys = new ArrayList<>();
+
+    private long falsePositiveCount = 0;
+    private long definiteMissCount = 0;
+
+    public SavedTranslationsFilter(File file, DatabaseExecutor executor, int expectedEntries, double falsePositiveRate) {
+        this.file = file;
+        this.executor = executor;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Loads the filter from its file, or rebuilds it from the database if the file is stale.
+     */
+    public Completable load() {
+        return Completable.fromAction(() -> {
+            Realm realm = executor.getRealm();
+            long savedCount = realm.where(Translation.class).count();
+            BloomFilter loadedFilter = read(savedCount);
+            if (loadedFilter == null) {
+                rebuild(realm);
+            } else {
+                setFilter(loadedFilter);
+            }
+        }).subscribeOn(executor.getScheduler());
+    }
+
+    public synchronized boolean mightContain(String inputText, String direction) {
+        if (filter == null) return true;
+        boolean mightContain = filter.mightContain(key(inputText, direction));
+        if (!mightContain) definiteMissCount++;
+        return mightContain;
+    }
+
+    public synchronized void add(String inputText, String direction) {
+        String key = key(inputText, direction);
+        if (filter != null) filter.put(key);
+        if (filter == null || isRebuilding) pendingKeys.add(key);
+    }
+
+    /**
+     * Records a lookup which passed the filter but wasn't found in the database.
+     */
+    public synchronized void recordFalsePositive() {
+        falsePositiveCount++;
+        if (shouldRebuild()) {
+            isRebuilding = true;
+            Completable.fromAction(() -> rebuild(executor.getRealm()))
+                    .subscribeOn(executor.getScheduler())
+                    .subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to rebuild the filter", throwable));
+        }
+    }
+
+    /**
+     * Writes the filter to its file in the background.
+     *
+     * @param savedCount the number of saved translations the filter corresponds to
+     */
+    public void persist(long savedCount) {
+        Completable.fromAction(() -> write(savedCount))
+                .subscribeOn(executor.getScheduler())
+                .subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to persist the filter", throwable));
+    }
+
+    public synchronized double getExpectedFalsePositiveRate() {
+        return filter == null ? 1 : filter.getExpectedFalsePositiveRate();
+    }
+
+    public synchronized double getObservedFalsePositiveRate() {
+        long negativeCount = falsePositiveCount + definiteMissCount;
+        return negativeCount == 0 ? 0 : (double) falsePositiveCount / negativeCount;
+    }
+
+    public synchronized long getFalsePositiveCount() {
+        return falsePositiveCount;
+    }
+
+    public synchronized long getDefiniteMissCount() {
+        return definiteMissCount;
+    }
+
+    private boolean shouldRebuild() {
+        if (isRebuilding || filter == null) return false;
+        if (filter.getInsertionCount() > expectedEntries) return true;
+        return falsePositiveCount + definiteMissCount >= MIN_NEGATIVE_LOOKUPS
+                && getObservedFalsePositiveRate() > MAX_FALSE_POSITIVE_RATE_RATIO * falsePositiveRate;
+    }
+
+    private void rebuild(Realm realm) {
+        RealmResults<Translation> translations = realm.where(Translation.class).findAll();
+        // Leave room for growth so the filter isn't rebuilt again right away
+        BloomFilter rebuiltFilter = new BloomFilter(Math.max(expectedEntries, 2 * translations.size()), falsePositiveRate);
+        for (Translation translation : translations) {
+            rebuiltFilter.put(key(translation.getInputText(), translation.getDirection()));
+        }
+        synchronized (this) {
+            setFilter(rebuiltFilter);
+            isRebuilding = false;
+            falsePositiveCount = 0;
+            definiteMissCount = 0;
+        }
+        Log.i(TAG, "rebuild: " + translations.size() + " saved translations");
+        write(translations.size());
+    }
+
+    private synchronized void setFilter(BloomFilter filter) {
+        for (String key : pendingKeys) filter.put(key);
+        pendingKeys.clear();
+        this.filter = filter;
+    }
+
+    private BloomFilter read(long savedCount) {
+        if (!file.exists()) return null;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != FORMAT_VERSION || in.readLong() != savedCount) return null;
+            return BloomFilter.readFrom(in);
+        } catch (IOException e) {
+            Log.e(TAG, "read: unable to read the filter", e);
+            return null;
+        } finally {
+            Utils.closeQuietly(in);
+        }
+    }
+
+    private synchronized void write(long savedCount) {
+        if (filter == null) return;
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(savedCount);
+            filter.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            Log.e(TAG, "write: unable to write the filter", e);
+        } finally {
+            Utils.closeQuietly(out);
+        }
+    }
+
+    private static String key(String inputText, String direction) {
+        return direction + '\n' + inputText;
+    }
+
+}
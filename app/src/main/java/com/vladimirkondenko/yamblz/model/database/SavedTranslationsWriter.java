@@ -0,0 +1,135 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.realm.Realm;
+
+/**
+ * Sets the history and bookmark flags of saved translations through the write-behind queue.
+ * <p>
+ * Holds no Realm of its own, so it can be shared by the whole app and called from any thread.
+ * The translations passed to it must be detached from Realm.
+ */
+public class SavedTranslationsWriter {
+
+    private final WriteBehindQueue writeQueue;
+    private final TranslationMemoryCache memoryCache;
+    private final SavedTranslationsFilter savedFilter;
+    private final TranslationIdHash idHash;
+
+    public SavedTranslationsWriter(WriteBehindQueue writeQueue, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter) {
+        this(writeQueue, memoryCache, savedFilter, Utils::hash64);
+    }
+
+    public SavedTranslationsWriter(WriteBehindQueue writeQueue, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter, TranslationIdHash idHash) {
+        this.writeQueue = writeQueue;
+        this.memoryCache = memoryCache;
+        this.savedFilter = savedFilter;
+        this.idHash = idHash;
+    }
+
+    public void setSavedToHistory(Translation snapshot, boolean saveToHistory, long timestamp) {
+        enqueueFlag(snapshot, Translation.FIELD_NAME_SAVED_TO_HISTORY, saveToHistory, timestamp);
+    }
+
+    public void setBookmarked(Translation snapshot, boolean bookmarked, long timestamp) {
+        enqueueFlag(snapshot, Translation.FIELD_NAME_BOOKMARKED, bookmarked, timestamp);
+    }
+
+    private void enqueueFlag(Translation snapshot, String flag, boolean value, long timestamp) {
+        memoryCache.invalidate(snapshot.getInputText(), snapshot.getDirection());
+        if (value) savedFilter.add(snapshot.getInputText(), snapshot.getDirection());
+        String key = flag + '\n' + snapshot.getDirection() + '\n' + snapshot.getInputText();
+        writeQueue.enqueue(key, new FlagMutation(snapshot, flag, value, timestamp));
+    }
+
+    /**
+     * Ids are hashes, so the id of a different translation is probed past
+     * rather than silently overwritten.
+     */
+    private long resolveId(Realm realm, Translation translation) {
+        long id = idHash.hash(translation.getInputText(), translation.getDirection());
+        while (true) {
+            if (id != 0) {
+                Translation savedTranslation = realm.where(Translation.class)
+                        .equalTo(Translation.FIELD_NAME_PRIMARY_KEY, id)
+                        .findFirst();
+                if (savedTranslation == null || isSameTranslation(savedTranslation, translation)) return id;
+            }
+            id++;
+        }
+    }
+
+    private static boolean isSameTranslation(Translation first, Translation second) {
+        return first.getInputText().equals(second.getInputText()) && first.getDirection().equals(second.getDirection());
+    }
+
+    /**
+     * Sets a flag of the saved copy of a translation, saving it first if needed.
+     * A translation which is neither in history nor bookmarked is deleted.
+     */
+    private final class FlagMutation implements WriteBehindQueue.Mutation {
+
+        private final Translation snapshot;
+        private final String flag;
+        private final boolean value;
+        private final long timestamp;
+
+        private long savedCount;
+
+        FlagMutation(Translation snapshot, String flag, boolean value, long timestamp) {
+            this.snapshot = snapshot;
+            this.flag = flag;
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public void apply(Realm realm) {
+            Translation savedTranslation = realm.where(Translation.class)
+                    .equalTo(Translation.FIELD_NAME_INPUT_TEXT, snapshot.getInputText())
+                    .equalTo(Translation.FIELD_NAME_DIRECTION, snapshot.getDirection())
+                    .findFirst();
+            if (savedTranslation == null && value) {
+                savedTranslation = realm.copyToRealm(createUnsaved(realm));
+            }
+            if (savedTranslation != null) {
+                savedTranslation.setTimestamp(timestamp);
+                if (flag.equals(Translation.FIELD_NAME_BOOKMARKED)) {
+                    savedTranslation.setBookmarked(value);
+                } else {
+                    savedTranslation.setSavedToHistory(value);
+                }
+                if (!savedTranslation.isBookmarked() && !savedTranslation.isSavedToHistory()) {
+                    savedTranslation.deleteFromRealm();
+                }
+            }
+            savedCount = realm.where(Translation.class).count();
+        }
+
+        @Override
+        public void onCommitted() {
+            memoryCache.invalidate(snapshot.getInputText(), snapshot.getDirection());
+            savedFilter.persist(savedCount);
+        }
+
+        // The flags of a translation which isn't saved are all unset
+        private Translation createUnsaved(Realm realm) {
+            List<String> translatedText = new ArrayList<>();
+            for (RealmString text : snapshot.getTranslatedText()) {
+                translatedText.add(text.getValue());
+            }
+            Translation translation = new Translation(snapshot.getCode(), snapshot.getDirection(), translatedText);
+            translation.setInputText(snapshot.getInputText());
+            translation.setId(resolveId(realm, translation));
+            return translation;
+        }
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+/**
+ * The preferred id of a saved translation, the saved one may differ on a hash collision.
+ * The app uses {@link com.vladimirkondenko.yamblz.utils.Utils#hash64(String...)},
+ * tests can force collisions with a weaker hash.
+ */
+public interface TranslationIdHash {
+
+    long hash(String inputText, String direction);
+
+}
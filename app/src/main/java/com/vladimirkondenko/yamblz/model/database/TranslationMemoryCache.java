@@ -0,0 +1,155 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.LanguageUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory LRU tier in front of the Realm database.
+ * Holds detached (unmanaged) translations by input text and direction,
+ * so they can be read on any thread without touching Realm.
+ * Bounded both by the number of entries and by their approximate size in bytes.
+ */
+public class TranslationMemoryCache {
+
+    // Object headers, references and the fields which aren't strings
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes = 0;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    public TranslationMemoryCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized Translation get(String inputText, String direction) {
+        Entry entry = entries.get(key(inputText, direction));
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.translation;
+    }
+
+    /**
+     * @param translation a detached translation with its input text set
+     */
+    public synchronized void put(Translation translation) {
+        put(translation.getDirection(), translation);
+    }
+
+    /**
+     * Caches the translation to be found by the direction it was requested with,
+     * in auto mode that's only the target language.
+     */
+    public synchronized void put(String direction, Translation translation) {
+        if (translation.isManaged()) {
+            throw new IllegalArgumentException("Only detached translations can be cached");
+        }
+        Entry entry = new Entry(translation, sizeOf(translation));
+        if (entry.sizeBytes > maxBytes) return;
+        Entry previous = entries.put(key(translation.getInputText(), direction), entry);
+        if (previous != null) sizeBytes -= previous.sizeBytes;
+        sizeBytes += entry.sizeBytes;
+        trim();
+    }
+
+    /**
+     * Also removes the translation cached for auto mode by the target language of the direction.
+     */
+    public synchronized void invalidate(String inputText, String direction) {
+        remove(key(inputText, direction));
+        int separator = direction.indexOf(LanguageUtils.DIRECTION_SEPARATOR);
+        if (separator != -1) remove(key(inputText, direction.substring(separator + 1)));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TranslationMemoryCache{entries=" + entries.size() + ", bytes=" + sizeBytes
+                + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "}";
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) sizeBytes -= entry.sizeBytes;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || sizeBytes > maxBytes) && iterator.hasNext()) {
+            sizeBytes -= iterator.next().getValue().sizeBytes;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static String key(String inputText, String direction) {
+        return direction + '\n' + inputText;
+    }
+
+    private static long sizeOf(Translation translation) {
+        long chars = length(translation.getInputText()) + length(translation.getDirection());
+        if (translation.getTranslatedText() != null) {
+            for (RealmString text : translation.getTranslatedText()) {
+                chars += length(text.getValue());
+            }
+        }
+        return ENTRY_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    private static int length(String string) {
+        return string == null ? 0 : string.length();
+    }
+
+    private static final class Entry {
+
+        final Translation translation;
+        final long sizeBytes;
+
+        Entry(Translation translation, long sizeBytes) {
+            this.translation = translation;
+            this.sizeBytes = sizeBytes;
+        }
+
+    }
+
+}
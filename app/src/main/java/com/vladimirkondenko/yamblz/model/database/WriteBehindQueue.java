@@ -0,0 +1,124 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.realm.Realm;
+
+/**
+ * Applies database mutations asynchronously, so the UI thread never waits for a Realm commit.
+ * <p>
+ * Mutations are keyed, a new mutation replaces a pending one with the same key,
+ * so e.g. repeated bookmark toggles of one translation collapse into the last one.
+ * Pending mutations are applied on the database thread in one transaction,
+ * either after a short delay or when the queue is flushed.
+ * <p>
+ * Every mutation enqueued before a flush is committed once it completes.
+ * Mutations still pending when the process dies are lost,
+ * which is why the app flushes the queue as soon as it goes to the background.
+ */
+public class WriteBehindQueue {
+
+    private static final String TAG = "WriteBehindQueue";
+
+    public interface Mutation {
+
+        /**
+         * Called on the database thread inside a transaction.
+         * Must not touch managed objects of other threads.
+         */
+        void apply(Realm realm);
+
+        /**
+         * Called on the database thread after the transaction is committed.
+         */
+        void onCommitted();
+
+    }
+
+    private final DatabaseExecutor executor;
+    private final long batchDelayMs;
+
+    private final LinkedHashMap<String, Mutation> pendingMutations = new LinkedHashMap<>();
+    private boolean isDrainScheduled = false;
+
+    private long mergedCount = 0;
+    private long committedCount = 0;
+    private long batchCount = 0;
+    private long failedCount = 0;
+
+    public WriteBehindQueue(DatabaseExecutor executor, long batchDelayMs) {
+        this.executor = executor;
+        this.batchDelayMs = batchDelayMs;
+    }
+
+    public synchronized void enqueue(String key, Mutation mutation) {
+        // Removing first moves the key to the end, after everything enqueued before it
+        if (pendingMutations.remove(key) != null) mergedCount++;
+        pendingMutations.put(key, mutation);
+        if (!isDrainScheduled) {
+            isDrainScheduled = true;
+            executor.getScheduler().scheduleDirect(this::drain, batchDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies the pending mutations right away, completes once they are committed.
+     */
+    public Completable flush() {
+        return Completable.fromAction(this::drain).subscribeOn(executor.getScheduler());
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingMutations.size();
+    }
+
+    public synchronized long getMergedCount() {
+        return mergedCount;
+    }
+
+    public synchronized long getCommittedCount() {
+        return committedCount;
+    }
+
+    public synchronized long getBatchCount() {
+        return batchCount;
+    }
+
+    public synchronized long getFailedCount() {
+        return failedCount;
+    }
+
+    private void drain() {
+        List<Mutation> batch;
+        synchronized (this) {
+            isDrainScheduled = false;
+            if (pendingMutations.isEmpty()) return;
+            batch = new ArrayList<>(pendingMutations.values());
+            pendingMutations.clear();
+        }
+        try {
+            executor.getRealm().executeTransaction(transaction -> {
+                for (Mutation mutation : batch) mutation.apply(transaction);
+            });
+        } catch (RuntimeException e) {
+            // The transaction is cancelled as a whole, so the database stays consistent
+            Log.e(TAG, "drain: unable to apply " + batch.size() + " mutations", e);
+            synchronized (this) {
+                failedCount += batch.size();
+            }
+            return;
+        }
+        synchronized (this) {
+            committedCount += batch.size();
+            batchCount++;
+        }
+        for (Mutation mutation : batch) mutation.onCommitted();
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+/**
+ * The language a text was detected in, and how sure the detector is about it.
+ */
+public final class Detection {
+
+    // The API doesn't tell its confidence, its detection is final
+    public static final double CERTAIN = 1;
+
+    private final String lang;
+    private final double confidence;
+
+    public Detection(String lang, double confidence) {
+        this.lang = lang;
+        this.confidence = confidence;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    /**
+     * From 0 to 1, see {@link LanguageIdentifier.Result#getConfidence()}.
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+}
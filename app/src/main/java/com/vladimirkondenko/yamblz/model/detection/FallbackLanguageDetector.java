@@ -0,0 +1,23 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import io.reactivex.Maybe;
+
+/**
+ * Asks the fallback detector only if the primary one isn't sure.
+ */
+public class FallbackLanguageDetector implements LanguageDetector {
+
+    private final LanguageDetector primary;
+    private final LanguageDetector fallback;
+
+    public FallbackLanguageDetector(LanguageDetector primary, LanguageDetector fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Maybe<Detection> detect(String text) {
+        return primary.detect(text).switchIfEmpty(Maybe.defer(() -> fallback.detect(text)));
+    }
+
+}
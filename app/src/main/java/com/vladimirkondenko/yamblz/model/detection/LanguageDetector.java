@@ -0,0 +1,12 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import io.reactivex.Maybe;
+
+public interface LanguageDetector {
+
+    /**
+     * Emits the language of the text, or completes if the language couldn't be told confidently.
+     */
+    Maybe<Detection> detect(String text);
+
+}
@@ -0,0 +1,180 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Identifies the language of a text on the device.
+ * <p>
+ * The script of the text narrows the languages down first, most scripts are only used by one language.
+ * Languages which share a script are told apart by their trigram profiles, similar to the
+ * out-of-place measure of Cavnar and Trenkle: every trigram of the text scores higher
+ * the more frequent it is in a language. Pure Java, so it's tested without Android.
+ */
+public class LanguageIdentifier {
+
+    private static final String SCRIPT_HAN = "Han";
+    private static final String SCRIPT_KANA = "Kana";
+
+    private static final Map<Character.UnicodeBlock, String> BLOCK_SCRIPTS = new HashMap<>();
+    private static final Map<String, String[]> SCRIPT_LANGUAGES = new HashMap<>();
+
+    static {
+        script("Latin", new String[]{
+                        "af", "az", "bs", "ca", "ceb", "cs", "cy", "da", "de", "en", "eo", "es", "et", "eu", "fi", "fr",
+                        "ga", "gd", "gl", "hr", "ht", "hu", "id", "is", "it", "jv", "la", "lb", "lt", "lv", "mg", "mi",
+                        "ms", "mt", "nl", "no", "pap", "pl", "pt", "ro", "sk", "sl", "sq", "su", "sv", "sw", "tl", "tr",
+                        "uz", "vi", "xh"},
+                Character.UnicodeBlock.BASIC_LATIN,
+                Character.UnicodeBlock.LATIN_1_SUPPLEMENT,
+                Character.UnicodeBlock.LATIN_EXTENDED_A,
+                Character.UnicodeBlock.LATIN_EXTENDED_B,
+                Character.UnicodeBlock.LATIN_EXTENDED_ADDITIONAL);
+        script("Cyrillic", new String[]{
+                        "ba", "be", "bg", "kk", "ky", "mhr", "mk", "mn", "mrj", "ru", "sr", "tg", "tt", "udm", "uk"},
+                Character.UnicodeBlock.CYRILLIC,
+                Character.UnicodeBlock.CYRILLIC_SUPPLEMENTARY);
+        script("Arabic", new String[]{"ar", "fa", "ur"},
+                Character.UnicodeBlock.ARABIC,
+                Character.UnicodeBlock.ARABIC_PRESENTATION_FORMS_A,
+                Character.UnicodeBlock.ARABIC_PRESENTATION_FORMS_B);
+        script("Devanagari", new String[]{"hi", "mr", "ne"}, Character.UnicodeBlock.DEVANAGARI);
+        script("Hebrew", new String[]{"he", "yi"}, Character.UnicodeBlock.HEBREW);
+        script(SCRIPT_HAN, new String[]{"zh"}, Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS);
+        script(SCRIPT_KANA, new String[]{"ja"}, Character.UnicodeBlock.HIRAGANA, Character.UnicodeBlock.KATAKANA);
+        script("Hangul", new String[]{"ko"},
+                Character.UnicodeBlock.HANGUL_SYLLABLES,
+                Character.UnicodeBlock.HANGUL_JAMO,
+                Character.UnicodeBlock.HANGUL_COMPATIBILITY_JAMO);
+        script("Greek", new String[]{"el"}, Character.UnicodeBlock.GREEK);
+        script("Armenian", new String[]{"hy"}, Character.UnicodeBlock.ARMENIAN);
+        script("Georgian", new String[]{"ka"}, Character.UnicodeBlock.GEORGIAN);
+        script("Ethiopic", new String[]{"am"}, Character.UnicodeBlock.ETHIOPIC);
+        script("Bengali", new String[]{"bn"}, Character.UnicodeBlock.BENGALI);
+        script("Gurmukhi", new String[]{"pa"}, Character.UnicodeBlock.GURMUKHI);
+        script("Gujarati", new String[]{"gu"}, Character.UnicodeBlock.GUJARATI);
+        script("Tamil", new String[]{"ta"}, Character.UnicodeBlock.TAMIL);
+        script("Telugu", new String[]{"te"}, Character.UnicodeBlock.TELUGU);
+        script("Kannada", new String[]{"kn"}, Character.UnicodeBlock.KANNADA);
+        script("Malayalam", new String[]{"ml"}, Character.UnicodeBlock.MALAYALAM);
+        script("Sinhala", new String[]{"si"}, Character.UnicodeBlock.SINHALA);
+        script("Thai", new String[]{"th"}, Character.UnicodeBlock.THAI);
+    }
+
+    // Texts with fewer trigrams get proportionally less confidence
+    private static final int FULL_CONFIDENCE_NGRAMS = 12;
+    // A text matching every profile this poorly is likely in a language without a profile
+    private static final double MIN_SCORE = 0.25;
+
+    private final Map<String, NgramProfile> profiles = new HashMap<>();
+
+    public LanguageIdentifier(Collection<NgramProfile> profiles) {
+        for (NgramProfile profile : profiles) this.profiles.put(profile.getLang(), profile);
+    }
+
+    /**
+     * Returns null if the text has no letters, or none of the languages of its script has a profile.
+     */
+    public Result identify(String text) {
+        String script = getScript(text);
+        if (script == null) return null;
+        String[] languages = SCRIPT_LANGUAGES.get(script);
+        if (languages.length == 1) return new Result(languages[0], 1);
+
+        Map<String, Integer> counts = NgramProfile.countNgrams(text);
+        int total = 0;
+        for (int count : counts.values()) total += count;
+        String bestLang = null;
+        double bestScore = 0;
+        double secondScore = 0;
+        for (String lang : languages) {
+            NgramProfile profile = profiles.get(lang);
+            if (profile == null) continue;
+            double score = score(profile, counts) / total;
+            if (bestLang == null || score > bestScore) {
+                secondScore = bestScore;
+                bestScore = score;
+                bestLang = lang;
+            } else if (score > secondScore) {
+                secondScore = score;
+            }
+        }
+        if (bestLang == null) return null;
+        if (bestScore < MIN_SCORE) return new Result(bestLang, 0);
+        double margin = (bestScore - secondScore) / bestScore;
+        double length = Math.min(1, (double) total / FULL_CONFIDENCE_NGRAMS);
+        return new Result(bestLang, margin * length);
+    }
+
+    // The script of most letters of the text
+    private static String getScript(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetter(c)) continue;
+            String script = BLOCK_SCRIPTS.get(Character.UnicodeBlock.of(c));
+            if (script == null) continue;
+            Integer count = counts.get(script);
+            counts.put(script, count == null ? 1 : count + 1);
+        }
+        // Japanese mixes kanji with kana
+        Integer han = counts.remove(SCRIPT_HAN);
+        if (han != null) {
+            Integer kana = counts.get(SCRIPT_KANA);
+            if (kana != null) {
+                counts.put(SCRIPT_KANA, kana + han);
+            } else {
+                counts.put(SCRIPT_HAN, han);
+            }
+        }
+        String script = null;
+        int max = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                script = entry.getKey();
+            }
+        }
+        return script;
+    }
+
+    private static double score(NgramProfile profile, Map<String, Integer> counts) {
+        double score = 0;
+        int size = profile.size();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            int rank = profile.getRank(entry.getKey());
+            if (rank != -1) score += entry.getValue() * (double) (size - rank) / size;
+        }
+        return score;
+    }
+
+    private static void script(String script, String[] languages, Character.UnicodeBlock... blocks) {
+        SCRIPT_LANGUAGES.put(script, languages);
+        for (Character.UnicodeBlock block : blocks) BLOCK_SCRIPTS.put(block, script);
+    }
+
+    public static final class Result {
+
+        private final String lang;
+        private final double confidence;
+
+        Result(String lang, double confidence) {
+            this.lang = lang;
+            this.confidence = confidence;
+        }
+
+        public String getLang() {
+            return lang;
+        }
+
+        /**
+         * From 0 to 1, how much the language stands out among the others of the same script.
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+    }
+
+}
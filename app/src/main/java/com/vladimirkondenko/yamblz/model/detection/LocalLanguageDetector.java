@@ -0,0 +1,85 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import android.content.Context;
+import android.support.annotation.RawRes;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import io.reactivex.Maybe;
+import io.reactivex.Scheduler;
+
+/**
+ * Detects the language on the device, with the profiles bundled as a raw resource.
+ * The profiles are loaded on the first detection.
+ */
+public class LocalLanguageDetector implements LanguageDetector {
+
+    private static final String TAG = "LocalLanguageDetector";
+
+    private final Context context;
+    private final int profilesResId;
+    private final Scheduler scheduler;
+    private final double minConfidence;
+
+    private LanguageIdentifier identifier = null;
+
+    private long detectedCount = 0;
+    private long uncertainCount = 0;
+
+    public LocalLanguageDetector(Context context, @RawRes int profilesResId, Scheduler scheduler, double minConfidence) {
+        this.context = context;
+        this.profilesResId = profilesResId;
+        this.scheduler = scheduler;
+        this.minConfidence = minConfidence;
+    }
+
+    @Override
+    public Maybe<Detection> detect(String text) {
+        return Maybe.fromCallable(() -> {
+            LanguageIdentifier.Result result = getIdentifier().identify(text);
+            if (result == null || result.getConfidence() < minConfidence) {
+                onDetected(false);
+                return null;
+            }
+            onDetected(true);
+            return new Detection(result.getLang(), result.getConfidence());
+        }).subscribeOn(scheduler);
+    }
+
+    public synchronized long getDetectedCount() {
+        return detectedCount;
+    }
+
+    /**
+     * Detections which had to be left to the fallback.
+     */
+    public synchronized long getUncertainCount() {
+        return uncertainCount;
+    }
+
+    private synchronized void onDetected(boolean isCertain) {
+        if (isCertain) {
+            detectedCount++;
+        } else {
+            uncertainCount++;
+        }
+    }
+
+    private synchronized LanguageIdentifier getIdentifier() throws IOException {
+        if (identifier == null) {
+            long start = System.nanoTime();
+            Reader reader = new InputStreamReader(context.getResources().openRawResource(profilesResId), "UTF-8");
+            try {
+                identifier = new LanguageIdentifier(NgramProfile.readAll(reader));
+            } finally {
+                reader.close();
+            }
+            Log.i(TAG, "Profiles loaded in " + (System.nanoTime() - start) / 1000000 + " ms");
+        }
+        return identifier;
+    }
+
+}
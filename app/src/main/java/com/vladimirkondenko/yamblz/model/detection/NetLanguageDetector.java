@@ -0,0 +1,25 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+
+import io.reactivex.Maybe;
+
+/**
+ * Asks the API to detect the language.
+ */
+public class NetLanguageDetector implements LanguageDetector {
+
+    private final NetTranslationService service;
+
+    public NetLanguageDetector(NetTranslationService service) {
+        this.service = service;
+    }
+
+    @Override
+    public Maybe<Detection> detect(String text) {
+        return service.detectLanguage(text)
+                .filter(language -> language.lang != null && !language.lang.isEmpty())
+                .map(language -> new Detection(language.lang, Detection.CERTAIN));
+    }
+
+}
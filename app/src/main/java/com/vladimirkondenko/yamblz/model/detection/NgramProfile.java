@@ -0,0 +1,135 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most frequent character trigrams of a language, ranked from the most frequent one.
+ * <p>
+ * Text is lowercased and split into words of letters, each word padded with a space on both sides,
+ * so trigrams at word boundaries are counted too.
+ * Profiles are stored one per line: the language code, a tab and the trigrams separated by '|'.
+ * Pure Java, so profiles can be built outside of the app.
+ */
+public final class NgramProfile {
+
+    public static final int N = 3;
+
+    private static final char NGRAM_SEPARATOR = '|';
+    private static final char LANG_SEPARATOR = '\t';
+    private static final char COMMENT = '#';
+
+    private final String lang;
+    private final List<String> ngrams;
+    private final Map<String, Integer> ranks;
+
+    NgramProfile(String lang, List<String> ngrams) {
+        this.lang = lang;
+        this.ngrams = ngrams;
+        this.ranks = new HashMap<>(ngrams.size() * 2);
+        for (int i = 0; i < ngrams.size(); i++) ranks.put(ngrams.get(i), i);
+    }
+
+    /**
+     * Ties are broken alphabetically, so the same text always gives the same profile.
+     */
+    public static NgramProfile build(String lang, String text, int size) {
+        Map<String, Integer> counts = countNgrams(text);
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+        Collections.sort(entries, (first, second) -> {
+            int byCount = second.getValue().compareTo(first.getValue());
+            return byCount != 0 ? byCount : first.getKey().compareTo(second.getKey());
+        });
+        List<String> ngrams = new ArrayList<>(Math.min(size, entries.size()));
+        for (int i = 0; i < entries.size() && i < size; i++) ngrams.add(entries.get(i).getKey());
+        return new NgramProfile(lang, ngrams);
+    }
+
+    /**
+     * Counts the trigrams of normalized text, the way profiles are built.
+     */
+    public static Map<String, Integer> countNgrams(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        StringBuilder word = new StringBuilder(" ");
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (isWordChar(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 1) {
+                word.append(' ');
+                for (int start = 0; start + N <= word.length(); start++) {
+                    String ngram = word.substring(start, start + N);
+                    Integer count = counts.get(ngram);
+                    counts.put(ngram, count == null ? 1 : count + 1);
+                }
+                word.setLength(1);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Combining marks are parts of words, many scripts write vowels with them.
+     */
+    static boolean isWordChar(char c) {
+        if (Character.isLetter(c)) return true;
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    public static List<NgramProfile> readAll(Reader reader) throws IOException {
+        List<NgramProfile> profiles = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty() || line.charAt(0) == COMMENT) continue;
+            int tab = line.indexOf(LANG_SEPARATOR);
+            if (tab == -1) throw new IOException("Malformed profile: " + line);
+            List<String> ngrams = new ArrayList<>();
+            int start = tab + 1;
+            while (start < line.length()) {
+                int end = line.indexOf(NGRAM_SEPARATOR, start);
+                if (end == -1) end = line.length();
+                ngrams.add(line.substring(start, end));
+                start = end + 1;
+            }
+            profiles.add(new NgramProfile(line.substring(0, tab), ngrams));
+        }
+        return profiles;
+    }
+
+    public void writeTo(Writer writer) throws IOException {
+        writer.write(lang);
+        writer.write(LANG_SEPARATOR);
+        for (int i = 0; i < ngrams.size(); i++) {
+            if (i > 0) writer.write(NGRAM_SEPARATOR);
+            writer.write(ngrams.get(i));
+        }
+        writer.write('\n');
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    /**
+     * Returns -1 if the trigram isn't in the profile.
+     */
+    public int getRank(String ngram) {
+        Integer rank = ranks.get(ngram);
+        return rank == null ? -1 : rank;
+    }
+
+    public int size() {
+        return ngrams.size();
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.vladimirkondenko.yamblz.model.entities;
+
+import io.realm.RealmList;
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+import io.realm.annotations.PrimaryKey;
+
+/**
+ * A network translation result kept in the response cache.
+ * Unlike {@link Translation}, it is never shown to the user in history or bookmarks.
+ */
+public class CachedTranslation extends RealmObject {
+
+    public static final String FIELD_NAME_KEY = "key";
+    public static final String FIELD_NAME_INPUT_TEXT = "inputText";
+    public static final String FIELD_NAME_DIRECTION = "direction";
+    public static final String FIELD_NAME_TRANSLATED_TEXT = "translatedText";
+    public static final String FIELD_NAME_CREATED_AT = "createdAt";
+    public static final String FIELD_NAME_ACCESSED_AT = "accessedAt";
+
+    @PrimaryKey
+    private String key;
+
+    private String inputText;
+
+    private String direction;
+
+    private RealmList<RealmString> translatedText;
+
+    // Both in milliseconds
+    @Index
+    private long createdAt;
+
+    @Index
+    private long accessedAt;
+
+    public CachedTranslation() {
+    }
+
+    public CachedTranslation(String inputText, Translation translation, long timestamp) {
+        this(inputText, translation.getDirection(), translation, timestamp);
+    }
+
+    /**
+     * @param direction the direction the translation is looked up by, may differ from the one it was made in
+     */
+    public CachedTranslation(String inputText, String direction, Translation translation, long timestamp) {
+        this.key = createKey(inputText, direction);
+        this.inputText = inputText;
+        this.direction = translation.getDirection();
+        this.translatedText = new RealmList<>();
+        for (RealmString text : translation.getTranslatedText()) {
+            this.translatedText.add(new RealmString(text.getValue()));
+        }
+        this.createdAt = timestamp;
+        this.accessedAt = timestamp;
+    }
+
+    public static String createKey(String inputText, String direction) {
+        return direction + '\n' + inputText;
+    }
+
+    public String getInputText() {
+        return inputText;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public RealmList<RealmString> getTranslatedText() {
+        return translatedText;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getAccessedAt() {
+        return accessedAt;
+    }
+
+    public void setAccessedAt(long accessedAt) {
+        this.accessedAt = accessedAt;
+    }
+
+}
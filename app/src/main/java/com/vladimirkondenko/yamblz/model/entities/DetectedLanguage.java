@@ -13,7 +13,7 @@ public class DetectedLanguage {
     @Expose
     public String code;
 
-    @SerializedName("langs")
+    @SerializedName("lang")
     @Expose
     public String lang;
 
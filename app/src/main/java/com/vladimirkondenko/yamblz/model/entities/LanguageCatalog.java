@@ -0,0 +1,46 @@
+package com.vladimirkondenko.yamblz.model.entities;
+
+import io.realm.RealmObject;
+import io.realm.annotations.PrimaryKey;
+
+/**
+ * The languages available for translation, named in the language of the UI locale,
+ * as they were last fetched from the API.
+ */
+public class LanguageCatalog extends RealmObject {
+
+    public static final String FIELD_NAME_LOCALE = "locale";
+    public static final String FIELD_NAME_JSON = "json";
+    public static final String FIELD_NAME_FETCHED_AT = "fetchedAt";
+
+    @PrimaryKey
+    private String locale;
+
+    // The sorted languages as JSON, they are only ever read all at once
+    private String json;
+
+    // In milliseconds
+    private long fetchedAt;
+
+    public LanguageCatalog() {
+    }
+
+    public LanguageCatalog(String locale, String json, long fetchedAt) {
+        this.locale = locale;
+        this.json = json;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+}
@@ -3,10 +3,12 @@ package com.vladimirkondenko.yamblz.model.entities;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.utils.Utils;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Holds all available for translation languages for a single language.
@@ -16,6 +18,9 @@ public final class Languages {
     // The language in which all other languages are stored in the languages variable
     private String userLanguageCode = Const.LANG_CODE_EN;
 
+    // When the languages were fetched from the API in milliseconds, at build time for the bundled ones, 0 if unknown
+    private transient long fetchedAt = 0;
+
     @SerializedName("dirs")
     @Expose
     @Deprecated
@@ -25,23 +30,72 @@ public final class Languages {
     @Expose
     private LinkedHashMap<String, String> languages = new LinkedHashMap<>();
 
+    // Set once the languages are shared, null while they can still be changed
+    private transient Map<String, String> readOnlyLanguages = null;
+
     public String getUserLanguageCode() {
         return userLanguageCode;
 
     }
 
     public void setUserLanguageCode(String userLanguageCode) {
+        checkWritable();
         this.userLanguageCode = userLanguageCode;
     }
 
-    public LinkedHashMap<String, String> getLanguages() {
-        return languages;
+    /**
+     * The names of the languages by their codes, in the order they are shown.
+     */
+    public Map<String, String> getLanguages() {
+        return readOnlyLanguages == null ? languages : readOnlyLanguages;
     }
 
     public void setLanguages(LinkedHashMap<String, String> languages) {
+        checkWritable();
         this.languages = languages;
     }
 
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        checkWritable();
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Makes the languages immutable, so a single instance can be shared, like the bundled ones.
+     */
+    public Languages makeReadOnly() {
+        if (readOnlyLanguages == null) readOnlyLanguages = Collections.unmodifiableMap(languages);
+        return this;
+    }
+
+    public boolean isReadOnly() {
+        return readOnlyLanguages != null;
+    }
+
+    private void checkWritable() {
+        if (readOnlyLanguages != null) throw new UnsupportedOperationException("The languages are read-only");
+    }
+
+    /**
+     * Languages are equal if they name the same languages the same way, whenever they were fetched.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Languages)) return false;
+        Languages that = (Languages) o;
+        return userLanguageCode.equals(that.userLanguageCode) && languages.equals(that.languages);
+    }
+
+    @Override
+    public int hashCode() {
+        return Utils.hashCode(userLanguageCode, languages);
+    }
+
     @Override
     public String toString() {
         return dirs.toString() + '\n' + languages.toString();
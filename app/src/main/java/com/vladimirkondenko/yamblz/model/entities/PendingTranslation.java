@@ -0,0 +1,60 @@
+package com.vladimirkondenko.yamblz.model.entities;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+import io.realm.annotations.PrimaryKey;
+
+/**
+ * A translation requested while offline, sent once the device is online again.
+ * Requesting the same text in the same direction again only updates the existing entry.
+ */
+public class PendingTranslation extends RealmObject {
+
+    public static final String FIELD_NAME_KEY = "key";
+    public static final String FIELD_NAME_INPUT_TEXT = "inputText";
+    public static final String FIELD_NAME_DIRECTION = "direction";
+    public static final String FIELD_NAME_CREATED_AT = "createdAt";
+
+    @PrimaryKey
+    private String key;
+
+    private String inputText;
+
+    // Either a pair of languages or only the target one if the input language is detected
+    private String direction;
+
+    // In milliseconds
+    @Index
+    private long createdAt;
+
+    public PendingTranslation() {
+    }
+
+    public PendingTranslation(String inputText, String direction, long createdAt) {
+        this.key = createKey(inputText, direction);
+        this.inputText = inputText;
+        this.direction = direction;
+        this.createdAt = createdAt;
+    }
+
+    public static String createKey(String inputText, String direction) {
+        return direction + '\n' + inputText;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getInputText() {
+        return inputText;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+}
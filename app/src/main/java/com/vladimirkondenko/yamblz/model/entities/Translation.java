@@ -2,10 +2,12 @@ package com.vladimirkondenko.yamblz.model.entities;
 
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
-import com.vladimirkondenko.yamblz.utils.Utils;
+
+import java.util.List;
 
 import io.realm.RealmList;
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 
 public class Translation extends RealmObject {
@@ -18,15 +20,19 @@ public class Translation extends RealmObject {
     public static final String FIELD_NAME_BOOKMARKED = "isBookmarked";
     public static final String FIELD_NAME_SAVED_TO_HISTORY = "isSavedToHistory";
 
+    // A 64-bit hash of the input text and direction, 0 until saved
     @PrimaryKey
-    private int id = 0;
+    private long id = 0;
 
     private long timestamp = 0;
 
+    @Index
     private boolean isBookmarked = false;
 
+    @Index
     private boolean isSavedToHistory = false;
 
+    @Index
     private String inputText;
 
     @SerializedName("code")
@@ -35,6 +41,7 @@ public class Translation extends RealmObject {
 
     @SerializedName("lang")
     @Expose
+    @Index
     private String direction = "";
 
     @SerializedName("text")
@@ -44,6 +51,15 @@ public class Translation extends RealmObject {
     public Translation() {
     }
 
+    public Translation(Integer code, String direction, List<String> translatedText) {
+        this.code = code;
+        this.direction = direction;
+        this.translatedText = new RealmList<>();
+        for (String text : translatedText) {
+            this.translatedText.add(new RealmString(text));
+        }
+    }
+
     public String getFormattedTranslatedText() {
         StringBuilder resultsBuilder = new StringBuilder();
         for (RealmString string : translatedText) {
@@ -52,18 +68,14 @@ public class Translation extends RealmObject {
         return new String(resultsBuilder);
     }
 
-    public int getId() {
+    public long getId() {
         return id;
     }
 
-    public void setId(int id) {
+    public void setId(long id) {
         this.id = id;
     }
 
-    public int calculateId() {
-        return Utils.hashCode(inputText, direction);
-    }
-
     public void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
@@ -92,6 +104,10 @@ public class Translation extends RealmObject {
         return inputText;
     }
 
+    public Integer getCode() {
+        return code;
+    }
+
     public String getDirection() {
         return direction;
     }
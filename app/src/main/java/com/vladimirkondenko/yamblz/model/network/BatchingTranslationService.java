@@ -0,0 +1,204 @@
+package com.vladimirkondenko.yamblz.model.network;
+
+import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.reactivex.disposables.Disposable;
+import io.realm.RealmList;
+
+/**
+ * Coalesces concurrent translation requests for the same direction
+ * into a single multi-text request.
+ * <p>
+ * Texts are collected during a short time window or until a batch
+ * reaches its size or character limit, whichever happens first.
+ * The translations from the response are then split back to the callers.
+ */
+public class BatchingTranslationService implements NetTranslationService {
+
+    private final NetTranslationService service;
+    private final Scheduler scheduler;
+
+    private final long windowMs;
+    private final int maxTexts;
+    private final int maxChars;
+
+    // Batches which are still accepting texts, by translation direction
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    public BatchingTranslationService(NetTranslationService service, Scheduler scheduler, long windowMs, int maxTexts, int maxChars) {
+        this.service = service;
+        this.scheduler = scheduler;
+        this.windowMs = windowMs;
+        this.maxTexts = maxTexts;
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public Single<Translation> getTranslation(String text, String direction) {
+        return Single.create(emitter -> enqueue(new PendingText(text, emitter), direction));
+    }
+
+    @Override
+    public Single<Translation> getTranslations(List<String> texts, String direction) {
+        return service.getTranslations(texts, direction);
+    }
+
+    @Override
+    public Single<DetectedLanguage> detectLanguage(String text) {
+        return service.detectLanguage(text);
+    }
+
+    private void enqueue(PendingText pending, String direction) {
+        Batch full = null;
+        Batch batch;
+        boolean sendNow;
+        synchronized (this) {
+            batch = openBatches.get(direction);
+            if (batch != null && !batch.fits(pending.text)) {
+                full = batch;
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(direction);
+                openBatches.put(direction, batch);
+                Batch scheduled = batch;
+                batch.timer = scheduler.scheduleDirect(() -> send(scheduled), windowMs, TimeUnit.MILLISECONDS);
+            }
+            batch.add(pending);
+            sendNow = batch.isFull();
+        }
+        Batch target = batch;
+        pending.emitter.setCancellable(() -> cancel(target, pending));
+        if (full != null) send(full);
+        if (sendNow) send(batch);
+    }
+
+    private void cancel(Batch batch, PendingText pending) {
+        Disposable request = null;
+        synchronized (this) {
+            pending.cancelled = true;
+            if (!batch.sent) {
+                batch.remove(pending);
+                if (batch.texts.isEmpty()) {
+                    batch.timer.dispose();
+                    openBatches.remove(batch.direction);
+                }
+            } else if (batch.isCancelled()) {
+                request = batch.request;
+            }
+        }
+        // Nobody is waiting for the response anymore
+        if (request != null) request.dispose();
+    }
+
+    private void send(Batch batch) {
+        List<PendingText> texts;
+        synchronized (this) {
+            if (batch.sent) return;
+            batch.sent = true;
+            batch.timer.dispose();
+            if (openBatches.get(batch.direction) == batch) openBatches.remove(batch.direction);
+            if (batch.texts.isEmpty()) return;
+            texts = new ArrayList<>(batch.texts);
+        }
+        List<String> strings = new ArrayList<>(texts.size());
+        for (PendingText pending : texts) strings.add(pending.text);
+        Disposable request = service.getTranslations(strings, batch.direction)
+                .subscribeOn(scheduler)
+                .subscribe(result -> dispatch(texts, result), error -> dispatchError(texts, error));
+        synchronized (this) {
+            batch.request = request;
+            if (batch.isCancelled()) request.dispose();
+        }
+    }
+
+    private void dispatch(List<PendingText> texts, Translation result) {
+        RealmList<RealmString> translatedText = result.getTranslatedText();
+        if (translatedText == null || translatedText.size() != texts.size()) {
+            int actualSize = translatedText == null ? 0 : translatedText.size();
+            dispatchError(texts, new IllegalStateException("Expected " + texts.size() + " translations, got " + actualSize));
+            return;
+        }
+        for (int i = 0; i < texts.size(); i++) {
+            SingleEmitter<Translation> emitter = texts.get(i).emitter;
+            if (emitter.isDisposed()) continue;
+            List<String> text = Collections.singletonList(translatedText.get(i).getValue());
+            emitter.onSuccess(new Translation(result.getCode(), result.getDirection(), text));
+        }
+    }
+
+    private void dispatchError(List<PendingText> texts, Throwable error) {
+        for (PendingText pending : texts) {
+            if (!pending.emitter.isDisposed()) pending.emitter.onError(error);
+        }
+    }
+
+    private static final class PendingText {
+
+        private final String text;
+        private final SingleEmitter<Translation> emitter;
+
+        private boolean cancelled = false;
+
+        PendingText(String text, SingleEmitter<Translation> emitter) {
+            this.text = text;
+            this.emitter = emitter;
+        }
+
+    }
+
+    private final class Batch {
+
+        private final String direction;
+        private final List<PendingText> texts = new ArrayList<>();
+
+        private int chars = 0;
+        private boolean sent = false;
+
+        private Disposable timer;
+        private Disposable request;
+
+        Batch(String direction) {
+            this.direction = direction;
+        }
+
+        void add(PendingText pending) {
+            texts.add(pending);
+            chars += pending.text.length();
+        }
+
+        void remove(PendingText pending) {
+            if (texts.remove(pending)) chars -= pending.text.length();
+        }
+
+        boolean fits(String text) {
+            return texts.size() < maxTexts && chars + text.length() <= maxChars;
+        }
+
+        boolean isFull() {
+            return texts.size() >= maxTexts || chars >= maxChars;
+        }
+
+        boolean isCancelled() {
+            for (PendingText pending : texts) {
+                if (!pending.cancelled) return false;
+            }
+            return true;
+        }
+
+    }
+
+}
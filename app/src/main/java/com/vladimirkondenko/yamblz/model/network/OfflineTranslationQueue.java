@@ -0,0 +1,198 @@
+package com.vladimirkondenko.yamblz.model.network;
+
+import android.util.Log;
+
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsWriter;
+import com.vladimirkondenko.yamblz.model.entities.PendingTranslation;
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.utils.LanguageUtils;
+import com.vladimirkondenko.yamblz.utils.RxNetworkBroadcastReceiver;
+import com.vladimirkondenko.yamblz.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.realm.RealmList;
+
+/**
+ * Sends the translations requested while offline once the device is online again.
+ * <p>
+ * Pending translations are grouped by direction into as few multi-text requests as the batch limits allow,
+ * and only a few requests are sent at a time.
+ * The results are put into the response cache and history.
+ * A translation stays pending until its request succeeds.
+ */
+public class OfflineTranslationQueue {
+
+    private static final String TAG = "OfflineTranslationQueue";
+
+    private final NetTranslationService netService;
+    private final DbPendingTranslationsService pendingService;
+    private final DbTranslationCacheService cacheService;
+    private final SavedTranslationsWriter savedWriter;
+    private final RxNetworkBroadcastReceiver networkReceiver;
+    private final Scheduler scheduler;
+
+    private final int maxTexts;
+    private final int maxChars;
+    private final int maxConcurrentRequests;
+
+    private final AtomicBoolean isDraining = new AtomicBoolean(false);
+    private final AtomicBoolean isDrainRequested = new AtomicBoolean(false);
+
+    private long sentRequestCount = 0;
+    private long translatedCount = 0;
+
+    public OfflineTranslationQueue(NetTranslationService netService,
+                                   DbPendingTranslationsService pendingService,
+                                   DbTranslationCacheService cacheService,
+                                   SavedTranslationsWriter savedWriter,
+                                   RxNetworkBroadcastReceiver networkReceiver,
+                                   Scheduler scheduler,
+                                   int maxTexts,
+                                   int maxChars,
+                                   int maxConcurrentRequests) {
+        this.netService = netService;
+        this.pendingService = pendingService;
+        this.cacheService = cacheService;
+        this.savedWriter = savedWriter;
+        this.networkReceiver = networkReceiver;
+        this.scheduler = scheduler;
+        this.maxTexts = maxTexts;
+        this.maxChars = maxChars;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Drains the queue now if the device is online and every time it goes online afterwards.
+     * The receiver stays registered for the lifetime of the app.
+     */
+    public void start() {
+        networkReceiver.register()
+                .startWith(networkReceiver.isOnline())
+                .filter(isOnline -> isOnline)
+                .subscribe(
+                        isOnline -> drain().subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to drain the queue", throwable)),
+                        throwable -> Log.e(TAG, "Unable to observe the network state", throwable)
+                );
+    }
+
+    /**
+     * Completes once every pending translation has been sent, whether its request succeeded or not.
+     * If the queue is already being drained, completes at once and the running drain makes one more pass,
+     * so translations queued in the meantime aren't left until the next reconnect.
+     */
+    public Completable drain() {
+        return Completable.defer(() -> {
+            isDrainRequested.set(true);
+            if (!isDraining.compareAndSet(false, true)) return Completable.complete();
+            return Completable.defer(this::drainOnce)
+                    .repeatUntil(this::isDrainDone)
+                    .doOnError(throwable -> isDraining.set(false))
+                    .doOnDispose(() -> isDraining.set(false));
+        });
+    }
+
+    private Completable drainOnce() {
+        isDrainRequested.set(false);
+        return pendingService.getAll()
+                .flattenAsObservable(this::createBatches)
+                .flatMap(batch -> send(batch).toObservable(), maxConcurrentRequests)
+                .ignoreElements();
+    }
+
+    // A drain requested right after the flag is reset starts on its own, so none is lost
+    private boolean isDrainDone() {
+        isDraining.set(false);
+        return !isDrainRequested.get() || !isDraining.compareAndSet(false, true);
+    }
+
+    public synchronized long getSentRequestCount() {
+        return sentRequestCount;
+    }
+
+    public synchronized long getTranslatedCount() {
+        return translatedCount;
+    }
+
+    /**
+     * Splits pending translations into batches of the same direction within the size limits, keeping their order.
+     * A detected input language is only reported for the whole request,
+     * so translations without an input language are sent one by one.
+     */
+    List<List<PendingTranslation>> createBatches(List<PendingTranslation> translations) {
+        Map<String, List<PendingTranslation>> byDirection = new LinkedHashMap<>();
+        for (PendingTranslation translation : translations) {
+            List<PendingTranslation> group = byDirection.get(translation.getDirection());
+            if (group == null) {
+                group = new ArrayList<>();
+                byDirection.put(translation.getDirection(), group);
+            }
+            group.add(translation);
+        }
+        List<List<PendingTranslation>> batches = new ArrayList<>();
+        for (Map.Entry<String, List<PendingTranslation>> group : byDirection.entrySet()) {
+            boolean isDetected = LanguageUtils.parseDirection(group.getKey()).length < 2;
+            List<PendingTranslation> batch = new ArrayList<>();
+            int chars = 0;
+            for (PendingTranslation translation : group.getValue()) {
+                int length = translation.getInputText().length();
+                if (!batch.isEmpty() && (isDetected || batch.size() >= maxTexts || chars + length > maxChars)) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                    chars = 0;
+                }
+                batch.add(translation);
+                chars += length;
+            }
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private Completable send(List<PendingTranslation> batch) {
+        String direction = batch.get(0).getDirection();
+        List<String> texts = new ArrayList<>(batch.size());
+        for (PendingTranslation translation : batch) texts.add(translation.getInputText());
+        return netService.getTranslations(texts, direction)
+                .subscribeOn(scheduler)
+                .doOnSuccess(result -> dispatch(texts, result))
+                .toCompletable()
+                .andThen(pendingService.remove(batch))
+                .doOnError(throwable -> Log.e(TAG, "Unable to send " + batch.size() + " pending translations", throwable))
+                .onErrorComplete();
+    }
+
+    private void dispatch(List<String> texts, Translation result) {
+        RealmList<RealmString> translatedText = result.getTranslatedText();
+        int actualSize = translatedText == null ? 0 : translatedText.size();
+        if (actualSize != texts.size()) {
+            throw new IllegalStateException("Expected " + texts.size() + " translations, got " + actualSize);
+        }
+        long timestamp = Utils.getCurrentTimeSec();
+        for (int i = 0; i < texts.size(); i++) {
+            String inputText = texts.get(i);
+            List<String> text = Collections.singletonList(translatedText.get(i).getValue());
+            Translation translation = new Translation(result.getCode(), result.getDirection(), text);
+            translation.setInputText(inputText);
+            cacheService.put(inputText, translation);
+            savedWriter.setSavedToHistory(translation, true, timestamp);
+        }
+        synchronized (this) {
+            sentRequestCount++;
+            translatedCount += texts.size();
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.vladimirkondenko.yamblz.model.services;
+
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.utils.base.BaseDatabaseService;
+
+import io.reactivex.Maybe;
+
+public interface DbLanguageCatalogService extends BaseDatabaseService {
+
+    /**
+     * Completes without a value if the languages for the locale have never been fetched.
+     * Stale languages are returned as well, see {@link Languages#getFetchedAt()}.
+     */
+    Maybe<Languages> get(String locale);
+
+    /**
+     * Replaces the languages stored for their user language.
+     */
+    void put(Languages languages);
+
+}
@@ -3,6 +3,10 @@ package com.vladimirkondenko.yamblz.model.services;
 import com.vladimirkondenko.yamblz.model.entities.SelectedLangs;
 import com.vladimirkondenko.yamblz.utils.base.BaseDatabaseService;
 
+import java.util.Map;
+
+import io.reactivex.Single;
+
 public interface DbLanguagesService extends BaseDatabaseService {
 
     void saveLangs(String inputLang, String outputLang);
@@ -11,4 +15,9 @@ public interface DbLanguagesService extends BaseDatabaseService {
 
     boolean areLangsSaved();
 
+    /**
+     * How many times each language is in the directions of the latest history entries, either way.
+     */
+    Single<Map<String, Integer>> getLanguageUsage(int historySize);
+
 }
@@ -0,0 +1,30 @@
+package com.vladimirkondenko.yamblz.model.services;
+
+import com.vladimirkondenko.yamblz.model.entities.PendingTranslation;
+import com.vladimirkondenko.yamblz.utils.base.BaseDatabaseService;
+
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+
+/**
+ * Translations requested while offline, kept until they are translated.
+ */
+public interface DbPendingTranslationsService extends BaseDatabaseService {
+
+    /**
+     * Adds a translation, or just moves it to the end of the queue if it's already pending.
+     */
+    Completable add(String inputText, String direction);
+
+    Completable remove(String inputText, String direction);
+
+    Completable remove(List<PendingTranslation> translations);
+
+    /**
+     * The pending translations detached from Realm, the oldest first.
+     */
+    Single<List<PendingTranslation>> getAll();
+
+}
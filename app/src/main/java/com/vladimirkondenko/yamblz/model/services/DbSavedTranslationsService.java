@@ -3,7 +3,7 @@ package com.vladimirkondenko.yamblz.model.services;
 import com.vladimirkondenko.yamblz.model.entities.Translation;
 import com.vladimirkondenko.yamblz.utils.base.BaseDatabaseService;
 
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.realm.RealmResults;
 
 public interface DbSavedTranslationsService extends BaseDatabaseService {
@@ -16,8 +16,13 @@ public interface DbSavedTranslationsService extends BaseDatabaseService {
 
     void setSavedToHistory(Translation translation, boolean saveToHistory, long timestamp);
 
-    Single<Translation> getIfSaved(String inputText, String direction);
+    Maybe<Translation> getIfSaved(String inputText, String direction);
 
     void setInputText(Translation translation, String inputText);
 
+    /**
+     * Keeps the translation in memory by its own direction and by the one it was requested with.
+     */
+    void cache(Translation translation, String direction);
+
 }
\ No newline at end of file
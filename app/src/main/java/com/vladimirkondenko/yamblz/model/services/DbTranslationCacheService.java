@@ -0,0 +1,29 @@
+package com.vladimirkondenko.yamblz.model.services;
+
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.base.BaseDatabaseService;
+
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+
+public interface DbTranslationCacheService extends BaseDatabaseService {
+
+    /**
+     * Completes without a value if the translation isn't cached or has expired.
+     */
+    Maybe<Translation> get(String inputText, String direction);
+
+    void put(String inputText, Translation translation);
+
+    /**
+     * Stores the translation to be found by the direction it was requested with,
+     * which in auto mode is only the target language rather than the direction of the translation.
+     */
+    void put(String inputText, String direction, Translation translation);
+
+    /**
+     * Removes expired entries and evicts the least recently used ones above the size limit.
+     */
+    Completable compact();
+
+}
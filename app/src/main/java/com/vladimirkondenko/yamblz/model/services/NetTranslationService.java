@@ -3,19 +3,37 @@ package com.vladimirkondenko.yamblz.model.services;
 import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
 import com.vladimirkondenko.yamblz.model.entities.Translation;
 
+import java.util.List;
+
 import io.reactivex.Single;
+import retrofit2.http.Field;
+import retrofit2.http.FormUrlEncoded;
 import retrofit2.http.POST;
 import retrofit2.http.Query;
 
+/**
+ * The text is sent in a form-encoded request body
+ * to keep the URL short regardless of the input length.
+ */
 public interface NetTranslationService {
 
     String KEY_LANG = "lang";
     String KEY_TEXT = "text";
 
+    @FormUrlEncoded
+    @POST("translate")
+    Single<Translation> getTranslation(@Field(KEY_TEXT) String text, @Query(KEY_LANG) String direction);
+
+    /**
+     * Translates several texts in one request.
+     * The translations are returned in the same order as the texts.
+     */
+    @FormUrlEncoded
     @POST("translate")
-    Single<Translation> getTranslation(@Query(KEY_TEXT) String text, @Query(KEY_LANG) String direction);
+    Single<Translation> getTranslations(@Field(KEY_TEXT) List<String> texts, @Query(KEY_LANG) String direction);
 
+    @FormUrlEncoded
     @POST("detect")
-    Single<DetectedLanguage> detectLanguage(@Query(KEY_TEXT) String text);
+    Single<DetectedLanguage> detectLanguage(@Field(KEY_TEXT) String text);
 
 }
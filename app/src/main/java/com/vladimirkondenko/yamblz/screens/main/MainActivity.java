@@ -8,27 +8,33 @@ import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentTransaction;
 import android.support.v7.app.ActionBar;
+import android.support.v7.app.AlertDialog;
 import android.support.v7.app.AppCompatActivity;
 import android.support.v7.app.AppCompatDelegate;
 import android.support.v7.widget.Toolbar;
+import android.view.WindowManager;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.widget.ImageButton;
 import android.widget.Spinner;
 
 import com.jakewharton.rxbinding2.view.RxView;
 import com.jakewharton.rxbinding2.widget.RxAdapterView;
+import com.jakewharton.rxbinding2.widget.RxTextView;
 import com.vladimirkondenko.yamblz.App;
 import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.R;
 import com.vladimirkondenko.yamblz.dagger.modules.MainModule;
 import com.vladimirkondenko.yamblz.databinding.ActivityMainBinding;
+import com.vladimirkondenko.yamblz.databinding.DialogMainLanguagePickerBinding;
 import com.vladimirkondenko.yamblz.databinding.LayoutTranslationToolbarBinding;
-import com.vladimirkondenko.yamblz.model.entities.Languages;
 import com.vladimirkondenko.yamblz.screens.ScreenCodes;
 import com.vladimirkondenko.yamblz.screens.history.HistoryFragment;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationFragment;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageSearchIndex;
 import com.vladimirkondenko.yamblz.utils.ui.AnimUtils;
 import com.vladimirkondenko.yamblz.utils.Utils;
+import com.vladimirkondenko.yamblz.utils.adapters.LanguagePickerAdapter;
 import com.vladimirkondenko.yamblz.utils.adapters.LanguageSpinnerAdapter;
 import com.vladimirkondenko.yamblz.utils.events.Bus;
 import com.vladimirkondenko.yamblz.utils.events.InputLanguageSelectionEvent;
@@ -73,6 +79,9 @@ public class MainActivity extends AppCompatActivity implements MainView {
     private Spinner spinnerOutputLangs;
     private LanguageSpinnerAdapter adapterOutputLangs;
 
+    private AlertDialog languagePicker;
+    private LanguagePickerAdapter adapterLanguagePicker;
+
     private Disposable bannerClicksSubscription;
     private Disposable inputSpinnerSubscription;
     private Disposable outputSpinnerSubscription;
@@ -110,6 +119,7 @@ public class MainActivity extends AppCompatActivity implements MainView {
         super.onStop();
          presenter.detachView();
         Bus.unsubscribe(this);
+        if (languagePicker != null) languagePicker.dismiss();
         Utils.disposeAll(
                 inputSpinnerSubscription,
                 outputSpinnerSubscription,
@@ -173,14 +183,54 @@ public class MainActivity extends AppCompatActivity implements MainView {
     }
 
     @Override
-    public void onLoadLanguages(Languages langs) {
+    public void onLoadLanguages(LanguageIndex langs) {
         if (adapterInputLangs != null && adapterOutputLangs != null) {
-            adapterInputLangs.setLangs(langs, true);
+            adapterInputLangs.setLangs(langs);
             adapterOutputLangs.setLangs(langs);
             presenter.getSelectedLanguages(langs);
         }
     }
 
+    @Override
+    public void onShowLanguagePicker(boolean isInput, LanguageSearchIndex languages) {
+        if (languagePicker != null) languagePicker.dismiss();
+        DialogMainLanguagePickerBinding pickerBinding = DataBindingUtil.inflate(getLayoutInflater(), R.layout.dialog_main_language_picker, null, false);
+        LanguagePickerAdapter adapter = new LanguagePickerAdapter(this, languages);
+        Disposable querySubscription = RxTextView.textChanges(pickerBinding.edittextMainLanguagePickerQuery)
+                .subscribe(query -> adapter.setQuery(query.toString()));
+        AlertDialog picker = new AlertDialog.Builder(this)
+                .setView(pickerBinding.getRoot())
+                .setOnDismissListener(dialog -> {
+                    querySubscription.dispose();
+                    // Dismissal is posted, a picker opened since then is left alone
+                    if (dialog == languagePicker) {
+                        languagePicker = null;
+                        adapterLanguagePicker = null;
+                    }
+                })
+                .create();
+        pickerBinding.listviewMainLanguagePicker.setAdapter(adapter);
+        pickerBinding.listviewMainLanguagePicker.setOnItemClickListener((parent, view, position, id) -> {
+            String language = adapter.getItem(position);
+            if (isInput) {
+                spinnerInputLangs.setSelection(adapterInputLangs.getItemPosition(language), true);
+            } else {
+                spinnerOutputLangs.setSelection(adapterOutputLangs.getItemPosition(language), true);
+            }
+            picker.dismiss();
+        });
+        // The picker is opened to type into it
+        picker.getWindow().setSoftInputMode(WindowManager.LayoutParams.SOFT_INPUT_STATE_VISIBLE);
+        picker.show();
+        languagePicker = picker;
+        adapterLanguagePicker = adapter;
+    }
+
+    @Override
+    public void onLoadLanguageUsage(int[] usage) {
+        if (adapterLanguagePicker != null) adapterLanguagePicker.setUsage(usage);
+    }
+
     @Override
     public void onError(Throwable error) {
         if (error != null) {
@@ -224,10 +274,19 @@ public class MainActivity extends AppCompatActivity implements MainView {
         spinnerInputLangs = toolbarBinding.spinnerTranslationLangInput;
         spinnerOutputLangs = toolbarBinding.spinnerTranslationLangTranslation;
         // Adapters
-        adapterInputLangs = new LanguageSpinnerAdapter(this);
-        adapterOutputLangs = new LanguageSpinnerAdapter(this);
+        adapterInputLangs = new LanguageSpinnerAdapter(this, true);
+        adapterOutputLangs = new LanguageSpinnerAdapter(this, false);
         spinnerInputLangs.setAdapter(adapterInputLangs);
         spinnerOutputLangs.setAdapter(adapterOutputLangs);
+        // A long press opens the searchable language picker instead of the dropdown
+        spinnerInputLangs.setOnLongClickListener(view -> {
+            presenter.pickLanguage(true);
+            return true;
+        });
+        spinnerOutputLangs.setOnLongClickListener(view -> {
+            presenter.pickLanguage(false);
+            return true;
+        });
         // Reactive event listeners
         inputSpinnerSubscription = RxAdapterView
                 .itemSelections(toolbarBinding.spinnerTranslationLangInput)
@@ -1,48 +1,62 @@
 package com.vladimirkondenko.yamblz.screens.main;
 
 
-import android.content.Context;
+import android.util.Log;
 
 import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.model.services.DbLanguageCatalogService;
 import com.vladimirkondenko.yamblz.model.services.DbLanguagesService;
 import com.vladimirkondenko.yamblz.model.services.NetLanguagesService;
+import com.vladimirkondenko.yamblz.utils.BundledLanguages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageIndexCache;
+import com.vladimirkondenko.yamblz.utils.LanguageSearchIndex;
 import com.vladimirkondenko.yamblz.utils.LanguageUtils;
-import com.vladimirkondenko.yamblz.utils.Utils;
 import com.vladimirkondenko.yamblz.utils.base.BaseInteractor;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
-import java.util.LinkedHashMap;
+import java.util.Collections;
 
 import javax.inject.Inject;
 
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
 
 public class MainInteractor extends BaseInteractor {
 
-    private Context context;
+    private static final String TAG = "MainInteractor";
+
+    private BundledLanguages bundledLanguages;
     private NetLanguagesService netService;
     private DbLanguagesService dbService;
+    private DbLanguageCatalogService catalogService;
+    private LanguageIndexCache indexCache;
+    private AppSchedulers schedulers;
 
     @Inject
-    public MainInteractor(Context context, NetLanguagesService netService, DbLanguagesService dbService) {
-        this.context = context;
+    public MainInteractor(BundledLanguages bundledLanguages, NetLanguagesService netService, DbLanguagesService dbService, DbLanguageCatalogService catalogService, LanguageIndexCache indexCache, AppSchedulers schedulers) {
+        this.bundledLanguages = bundledLanguages;
         this.netService = netService;
         this.dbService = dbService;
+        this.catalogService = catalogService;
+        this.indexCache = indexCache;
+        this.schedulers = schedulers;
     }
 
     public String getInputLang() {
         return (dbService.areLangsSaved()) ? dbService.getSelectedLangs().getInputLang() : Const.LANG_CODE_AUTO;
     }
 
-    public String getOutputLang(Languages languages) {
+    public String getOutputLang(LanguageIndex languages) {
         if (dbService.areLangsSaved()) {
             return dbService.getSelectedLangs().getOutputLang();
         } else {
             switch (languages.getUserLanguageCode()) {
                 case Const.LANG_CODE_EN: {
-                    return languages.getLanguages().keySet().iterator().next();
+                    return languages.getCode(0);
                 }
                 default:
                     return Const.LANG_CODE_EN;
@@ -54,23 +68,71 @@ public class MainInteractor extends BaseInteractor {
         dbService.saveLangs(inputLang, outputLang);
     }
 
-    public Single<Languages> getLanguages() {
-        Single<Languages> languagesSingle;
-        Languages preferredLangs = LanguageUtils.getInputLanguages(context);
+    /**
+     * Emits the stored languages for the device locale at once, or the bundled ones if there are none yet.
+     * Once they are older than {@link Const#LANGUAGES_TTL_MS}, counting from the build for the bundled ones,
+     * they are refreshed in the background and emitted again if the API returns different ones.
+     * The same languages always come in the same index, see {@link LanguageIndexCache}.
+     */
+    public Observable<LanguageIndex> getLanguages() {
         String deviceLocale = LanguageUtils.getDeviceLocale();
-        if (preferredLangs.getLanguages().keySet().contains(deviceLocale)) {
-            languagesSingle = netService.getAvailableLanguages(deviceLocale);
-        } else {
-            languagesSingle = Single.just(preferredLangs);
-        }
-        return languagesSingle
-                .subscribeOn(Schedulers.newThread())
-                .doOnSuccess(languages -> {
-                    LinkedHashMap<String, String> sortedLanguages = Utils.sortByValues(languages.getLanguages());
-                    languages.setLanguages(sortedLanguages);
+        return catalogService.get(deviceLocale)
+                .switchIfEmpty(getBundledLanguages(deviceLocale))
+                .toSingle()
+                .flatMapObservable(languages -> Observable.just(languages)
+                        .concatWith(refreshLanguages(deviceLocale, languages).toObservable()))
+                .observeOn(schedulers.computation())
+                .map(indexCache::get)
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    /**
+     * The search index of the languages, built off the UI thread the first time the picker is opened.
+     */
+    public Single<LanguageSearchIndex> getSearchIndex(LanguageIndex languages) {
+        return Single.fromCallable(languages::getSearchIndex)
+                .subscribeOn(schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    /**
+     * The usage of the languages of the index in the latest history entries, none if it can't be read.
+     */
+    public Single<int[]> getLanguageUsage(LanguageSearchIndex index) {
+        return dbService.getLanguageUsage(Const.LANGUAGE_USAGE_HISTORY_SIZE)
+                .doOnError(throwable -> Log.w(TAG, "Unable to read the language usage", throwable))
+                .onErrorReturnItem(Collections.emptyMap())
+                .map(index::getUsage)
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    private Maybe<Languages> getBundledLanguages(String deviceLocale) {
+        return Maybe.fromCallable(() -> bundledLanguages.get(deviceLocale))
+                // Sorted at build time
+                .doOnSuccess(indexCache::putSorted)
+                .subscribeOn(schedulers.computation());
+    }
+
+    private Maybe<Languages> refreshLanguages(String deviceLocale, Languages current) {
+        boolean isFresh = System.currentTimeMillis() - current.getFetchedAt() < Const.LANGUAGES_TTL_MS;
+        // The bundled languages are the only ones for unsupported locales
+        boolean isSupported = current.getLanguages().containsKey(deviceLocale);
+        if (isFresh || !isSupported) return Maybe.empty();
+        return netService.getAvailableLanguages(deviceLocale)
+                .subscribeOn(schedulers.network())
+                .observeOn(schedulers.computation())
+                .map(languages -> {
                     languages.setUserLanguageCode(deviceLocale);
+                    // Stored sorted, the index made here is the one the languages are shown with
+                    languages.setLanguages(indexCache.get(languages).toMap());
+                    languages.setFetchedAt(System.currentTimeMillis());
+                    return languages;
                 })
-                .observeOn(AndroidSchedulers.mainThread());
+                // Stored even if unchanged, so they aren't fetched again until they expire
+                .doOnSuccess(catalogService::put)
+                .filter(languages -> !languages.equals(current))
+                .doOnError(throwable -> Log.w(TAG, "Unable to refresh the languages", throwable))
+                .onErrorComplete();
     }
 
 }
@@ -1,7 +1,7 @@
 package com.vladimirkondenko.yamblz.screens.main;
 
-import com.vladimirkondenko.yamblz.model.entities.Languages;
 import com.vladimirkondenko.yamblz.screens.ScreenCodes;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
 import com.vladimirkondenko.yamblz.utils.base.BaseLifecyclePresenter;
 
 import javax.inject.Inject;
@@ -11,6 +11,9 @@ public class MainPresenter extends BaseLifecyclePresenter<MainView, MainInteract
     private String inputLang;
     private String outputLang;
 
+    // The languages the spinners show, they are only reloaded with different ones
+    private LanguageIndex languages;
+
     @Inject
     public MainPresenter(MainView view, MainInteractor interactor) {
         super(view, interactor);
@@ -43,11 +46,30 @@ public class MainPresenter extends BaseLifecyclePresenter<MainView, MainInteract
 
     public void getLanguagesList() {
         interactor.getLanguages()
+                // Unchanged languages come in the same index
+                .filter(languages -> languages != this.languages)
+                .compose(bindToLifecycle())
+                .subscribe(languages -> {
+                    this.languages = languages;
+                    view.onLoadLanguages(languages);
+                }, view::onError);
+    }
+
+    /**
+     * Opens the language picker at once, the recently used languages move up once their usage is read.
+     */
+    public void pickLanguage(boolean isInput) {
+        if (languages == null) return;
+        interactor.getSearchIndex(languages)
+                .doOnSuccess(index -> {
+                    if (isViewAttached()) view.onShowLanguagePicker(isInput, index);
+                })
+                .flatMap(interactor::getLanguageUsage)
                 .compose(bindToLifecycle())
-                .subscribe(view::onLoadLanguages, view::onError);
+                .subscribe(view::onLoadLanguageUsage, view::onError);
     }
 
-    public void getSelectedLanguages(Languages languages) {
+    public void getSelectedLanguages(LanguageIndex languages) {
         view.onSelectInputLang(interactor.getInputLang());
         view.onSelectOutputLang(interactor.getOutputLang(languages));
     }
@@ -64,6 +86,4 @@ public class MainPresenter extends BaseLifecyclePresenter<MainView, MainInteract
         this.outputLang = outputLang;
     }
 
-
-
 }
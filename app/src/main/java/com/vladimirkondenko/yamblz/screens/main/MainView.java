@@ -1,6 +1,7 @@
 package com.vladimirkondenko.yamblz.screens.main;
 
-import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageSearchIndex;
 import com.vladimirkondenko.yamblz.utils.base.BaseView;
 
 public interface MainView extends BaseView {
@@ -8,6 +9,8 @@ public interface MainView extends BaseView {
     void onSelectHistoryScreen();
     void onSelectInputLang(String lang);
     void onSelectOutputLang(String lang);
-    void onLoadLanguages(Languages languages);
+    void onLoadLanguages(LanguageIndex languages);
+    void onShowLanguagePicker(boolean isInput, LanguageSearchIndex languages);
+    void onLoadLanguageUsage(int[] usage);
     void onError(Throwable error);
 }
@@ -0,0 +1,94 @@
+package com.vladimirkondenko.yamblz.screens.translation;
+
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.TextSegmenter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-sentence translations of the text being edited.
+ * <p>
+ * Every edit is compared to the sentences of the previous version of the text:
+ * the unchanged ones are reused, so only the sentences which were changed or added are sent.
+ * Sentences which are no longer in the text are forgotten, so the document never outgrows the text.
+ */
+public class TranslationDocument {
+
+    private String direction = null;
+    private final Map<String, Translation> translations = new HashMap<>();
+
+    private long reusedCount = 0;
+    private long translatedCount = 0;
+    private long reusedChars = 0;
+    private long translatedChars = 0;
+
+    /**
+     * Forgets the sentences which aren't in the new version of the text,
+     * or all of them if the direction has changed.
+     */
+    public synchronized void update(List<TextSegmenter.Segment> sentences, String direction) {
+        if (!direction.equals(this.direction)) {
+            translations.clear();
+            this.direction = direction;
+            return;
+        }
+        Set<String> texts = new HashSet<>();
+        for (TextSegmenter.Segment sentence : sentences) texts.add(sentence.getText());
+        Iterator<String> iterator = translations.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!texts.contains(iterator.next())) iterator.remove();
+        }
+    }
+
+    /**
+     * Returns null if the sentence has to be translated.
+     */
+    public synchronized Translation get(String sentence, String direction) {
+        if (!direction.equals(this.direction)) return null;
+        Translation translation = translations.get(sentence);
+        if (translation != null) {
+            reusedCount++;
+            reusedChars += sentence.length();
+        }
+        return translation;
+    }
+
+    public synchronized void put(String sentence, String direction, Translation translation) {
+        // The direction has changed while the sentence was being translated
+        if (!direction.equals(this.direction)) return;
+        translations.put(sentence, translation);
+        translatedCount++;
+        translatedChars += sentence.length();
+    }
+
+    public synchronized void clear() {
+        translations.clear();
+        direction = null;
+    }
+
+    public synchronized int size() {
+        return translations.size();
+    }
+
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    public synchronized long getTranslatedCount() {
+        return translatedCount;
+    }
+
+    /**
+     * The share of characters which didn't have to be sent again.
+     */
+    public synchronized double getReuseRatio() {
+        long total = reusedChars + translatedChars;
+        return total == 0 ? 0 : (double) reusedChars / total;
+    }
+
+}
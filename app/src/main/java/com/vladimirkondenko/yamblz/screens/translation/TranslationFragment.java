@@ -20,6 +20,7 @@ import com.vladimirkondenko.yamblz.R;
 import com.vladimirkondenko.yamblz.dagger.modules.TranslationModule;
 import com.vladimirkondenko.yamblz.databinding.FragmentTranslationBinding;
 import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.AdaptiveDebouncer;
 import com.vladimirkondenko.yamblz.utils.ErrorCodes;
 import com.vladimirkondenko.yamblz.utils.LanguageUtils;
 import com.vladimirkondenko.yamblz.utils.RxNetworkBroadcastReceiver;
@@ -37,11 +38,9 @@ import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
-import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.Disposable;
 
 /**
@@ -55,6 +54,9 @@ public class TranslationFragment extends Fragment implements TranslationView {
     @Inject
     public TranslationPresenter presenter;
 
+    @Inject
+    public AdaptiveDebouncer inputDebouncer;
+
     private FragmentTranslationBinding binding;
 
     private Disposable subscriptionClearButton;
@@ -85,8 +87,7 @@ public class TranslationFragment extends Fragment implements TranslationView {
                 .subscribe(o -> presenter.clickClearButton());
         subscriptionInputTextChanges = RxTextView.textChanges(binding.edittextTranslationInput)
                 .skipInitialValue()
-                .debounce(225, TimeUnit.MILLISECONDS, AndroidSchedulers.mainThread())
-                .filter(text -> text.length() < Const.MAX_TEXT_LENGTH)
+                .compose(inputDebouncer.debounce())
                 .map(String::valueOf)
                 .map(String::trim)
                 .subscribe(text -> presenter.onInputTextChange(text, networkBroadcastReceiver.isOnline()));
@@ -147,6 +148,8 @@ public class TranslationFragment extends Fragment implements TranslationView {
         String language = locale.getDisplayLanguage();
         binding.textviewDetectedLang.setText(language);
         showDetectedLangLayout(true);
+        // Detected on the device first and then by the API, which may disagree
+        Utils.dispose(subscriptionSelectDetectedLang);
         subscriptionSelectDetectedLang = RxView.clicks(binding.framelayoutDetectedLang)
                 .subscribe(o -> {
                     showDetectedLangLayout(false);
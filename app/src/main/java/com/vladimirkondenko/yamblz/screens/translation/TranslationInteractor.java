@@ -1,54 +1,315 @@
 package com.vladimirkondenko.yamblz.screens.translation;
 
+import android.util.Log;
+
 import com.vladimirkondenko.yamblz.Const;
-import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
+import com.vladimirkondenko.yamblz.model.detection.Detection;
+import com.vladimirkondenko.yamblz.model.detection.LanguageDetector;
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
 import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
 import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
 import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.utils.AdaptiveDebouncer;
 import com.vladimirkondenko.yamblz.utils.LanguageUtils;
+import com.vladimirkondenko.yamblz.utils.TextSegmenter;
 import com.vladimirkondenko.yamblz.utils.Utils;
 import com.vladimirkondenko.yamblz.utils.base.BaseInteractor;
 import com.vladimirkondenko.yamblz.utils.events.Bus;
 import com.vladimirkondenko.yamblz.utils.events.LanguageDetectionEvent;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.inject.Inject;
 
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
+import io.reactivex.functions.BiFunction;
 
 public class TranslationInteractor extends BaseInteractor {
 
+    private static final String TAG = "TranslationInteractor";
+
     private NetTranslationService netService;
     private DbSavedTranslationsService dbService;
+    private DbTranslationCacheService cacheService;
+    private DbPendingTranslationsService pendingService;
+    private AdaptiveDebouncer inputDebouncer;
+    private TextSegmenter segmenter;
+    private TranslationDocument document;
+    private LanguageDetector detector;
+
+    // Requests which haven't finished yet, by text and direction
+    private final Map<String, Single<Translation>> inFlightRequests = new HashMap<>();
+    private int savedRequestCount = 0;
+
+    private String detectedText = null;
+    private Maybe<Detection> detection = null;
+    private int detectedFirstCount = 0;
+    private int translatedFirstCount = 0;
+
+    // The text being edited which was queued while offline, replaced as the user keeps typing
+    private String queuedText = null;
+    private String queuedDirection = null;
 
     @Inject
-    public TranslationInteractor(NetTranslationService netService, DbSavedTranslationsService dbService) {
+    public TranslationInteractor(NetTranslationService netService, DbSavedTranslationsService dbService, DbTranslationCacheService cacheService, DbPendingTranslationsService pendingService, AdaptiveDebouncer inputDebouncer, TextSegmenter segmenter, TranslationDocument document, LanguageDetector detector) {
         this.netService = netService;
         this.dbService = dbService;
+        this.cacheService = cacheService;
+        this.pendingService = pendingService;
+        this.inputDebouncer = inputDebouncer;
+        this.segmenter = segmenter;
+        this.document = document;
+        this.detector = detector;
     }
 
+    /**
+     * Identical concurrent requests share a single network call and database write.
+     */
     public Single<Translation> translate(String inputLang, String targetLang, String inputText) {
         boolean shouldDetectLanguage = inputLang == null || inputLang.equals(Const.LANG_CODE_AUTO);
-        String direction = shouldDetectLanguage ? targetLang : LanguageUtils.langsToDirection(inputLang, targetLang);
-        return Single.defer(() ->
-                         dbService.getIfSaved(inputText, direction)
-                        .subscribeOn(Schedulers.newThread())
-                        .onErrorResumeNext(netService.getTranslation(inputText, direction))
-                        .observeOn(AndroidSchedulers.mainThread())
-                        .doOnSuccess(translation -> {
-                            dbService.setInputText(translation, inputText);
-                            if (shouldDetectLanguage) Bus.post(new LanguageDetectionEvent(translation.getDirection()));
-                        })
-        );
+        String direction = getDirection(inputLang, targetLang);
+        String text = inputText.trim();
+        return Single.defer(() -> getInFlightRequest(text, direction, shouldDetectLanguage));
+    }
+
+    /**
+     * Detects the language on the device, so it's shown before the translation arrives, even offline.
+     * Only the text the device isn't sure about is sent to the API.
+     */
+    public Maybe<String> detectLanguage(String inputText) {
+        String text = inputText.trim();
+        if (text.isEmpty()) return Maybe.empty();
+        return getDetection(text)
+                .map(Detection::getLang)
+                .observeOn(AndroidSchedulers.mainThread())
+                .doOnSuccess(lang -> Bus.post(new LanguageDetectionEvent(lang)));
+    }
+
+    /**
+     * Queues the translation to be sent once the device is online, even if the app is closed before that.
+     * The text queued last is replaced, so only the final version of an edited text is translated.
+     */
+    public synchronized void translateLater(String inputLang, String targetLang, String inputText) {
+        String direction = getDirection(inputLang, targetLang);
+        String text = inputText.trim();
+        if (isQueued(text, direction)) return;
+        Completable write = pendingService.add(text, direction);
+        if (queuedText != null) write = pendingService.remove(queuedText, queuedDirection).andThen(write);
+        queuedText = text;
+        queuedDirection = direction;
+        write.subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to queue a translation", throwable));
+    }
+
+    /**
+     * Keeps the queued translation when the text it was queued for is no longer edited,
+     * and forgets the sentences translated for it.
+     */
+    public synchronized void finishEditing() {
+        queuedText = null;
+        queuedDirection = null;
+        document.clear();
+    }
+
+    /**
+     * Auto mode translations which were sent with the detected language, rather than left to the API.
+     */
+    public synchronized int getDetectedFirstCount() {
+        return detectedFirstCount;
+    }
+
+    public synchronized int getTranslatedFirstCount() {
+        return translatedFirstCount;
     }
 
-    private Single<DetectedLanguage> detect(String text) {
-        return netService.detectLanguage(text)
-                .doOnSuccess(language -> Bus.post(new LanguageDetectionEvent(language.lang)));
+    public TranslationDocument getDocument() {
+        return document;
+    }
 
+    public synchronized int getSavedRequestCount() {
+        return savedRequestCount;
     }
 
+    private synchronized Single<Translation> getInFlightRequest(String inputText, String direction, boolean shouldDetectLanguage) {
+        String key = direction + '\n' + inputText;
+        Single<Translation> request = inFlightRequests.get(key);
+        if (request != null) {
+            savedRequestCount++;
+            return request;
+        }
+        request = createRequest(inputText, direction, shouldDetectLanguage)
+                .doFinally(() -> removeInFlightRequest(key))
+                .toObservable()
+                .share()
+                .singleOrError();
+        inFlightRequests.put(key, request);
+        return request;
+    }
+
+    private synchronized void removeInFlightRequest(String key) {
+        inFlightRequests.remove(key);
+    }
+
+    // Translated before the device went online, no need to send it again
+    private synchronized void onTranslated(String inputText, String direction) {
+        if (!isQueued(inputText, direction)) return;
+        pendingService.remove(inputText, direction)
+                .subscribe(() -> {}, throwable -> Log.e(TAG, "Unable to remove a queued translation", throwable));
+        queuedText = null;
+        queuedDirection = null;
+    }
+
+    private boolean isQueued(String inputText, String direction) {
+        return inputText.equals(queuedText) && direction.equals(queuedDirection);
+    }
+
+    private static String getDirection(String inputLang, String targetLang) {
+        boolean shouldDetectLanguage = inputLang == null || inputLang.equals(Const.LANG_CODE_AUTO);
+        return shouldDetectLanguage ? targetLang : LanguageUtils.langsToDirection(inputLang, targetLang);
+    }
+
+    /**
+     * Looks the translation up in memory, in the saved translations, in the response cache
+     * and finally requests it from the network.
+     */
+    private Single<Translation> createRequest(String inputText, String direction, boolean shouldDetectLanguage) {
+        Single<Translation> request = shouldDetectLanguage
+                ? raceDetection(inputText, direction)
+                : requestTranslation(inputText, direction, false);
+        Single<Translation> networkRequest = request
+                .compose(inputDebouncer.trackRoundTrip())
+                .doOnSuccess(translation -> cache(inputText, direction, translation));
+        return dbService.getIfSaved(inputText, direction)
+                .switchIfEmpty(cacheService.get(inputText, direction))
+                .switchIfEmpty(networkRequest.toMaybe())
+                .toSingle()
+                .observeOn(AndroidSchedulers.mainThread())
+                .doOnSuccess(translation -> {
+                    onTranslated(inputText, direction);
+                    dbService.setInputText(translation, inputText);
+                    dbService.cache(translation, direction);
+                    if (shouldDetectLanguage) Bus.post(new LanguageDetectionEvent(translation.getDirection()));
+                });
+    }
+
+    /**
+     * Without a source language the API detects it itself, after the whole text has been uploaded.
+     * The language is detected alongside, and if that finishes first with enough confidence, the text
+     * is translated from the detected language and the request without one is cancelled.
+     * A guess the device isn't sure about only labels the text, the request without a source language is left to finish.
+     */
+    private Single<Translation> raceDetection(String inputText, String targetLang) {
+        Single<Single<Translation>> undirected = requestTranslation(inputText, targetLang, true)
+                .map(translation -> {
+                    onRaceFinished(false);
+                    return Single.just(translation);
+                });
+        Single<Single<Translation>> directed = getDetection(inputText)
+                .filter(result -> result.getConfidence() >= Const.DETECTION_RACE_MIN_CONFIDENCE)
+                .map(Detection::getLang)
+                .filter(lang -> !lang.equals(targetLang))
+                .switchIfEmpty(Maybe.never())
+                .toSingle()
+                .map(lang -> {
+                    onRaceFinished(true);
+                    return requestDirected(inputText, LanguageUtils.langsToDirection(lang, targetLang));
+                });
+        return Single.amb(Arrays.asList(undirected, directed))
+                .flatMap(request -> request);
+    }
+
+    private Single<Translation> requestDirected(String inputText, String direction) {
+        return cacheService.get(inputText, direction)
+                .switchIfEmpty(requestTranslation(inputText, direction, false).toMaybe())
+                .toSingle();
+    }
+
+    private synchronized void onRaceFinished(boolean isDetectedFirst) {
+        if (isDetectedFirst) {
+            detectedFirstCount++;
+        } else {
+            translatedFirstCount++;
+        }
+    }
+
+    // The detection of the latest text, shared by the detected language chip and the translation
+    private synchronized Maybe<Detection> getDetection(String text) {
+        if (!text.equals(detectedText)) {
+            detectedText = text;
+            detection = detector.detect(text)
+                    .doOnError(throwable -> Log.w(TAG, "Unable to detect the language", throwable))
+                    .onErrorComplete()
+                    .cache();
+        }
+        return detection;
+    }
+
+    /**
+     * Text in a known language is translated sentence by sentence, reusing the sentences
+     * translated for the previous version of the text, so an edit only sends the sentences it changed.
+     * Text in a detected language is only split if it's too long, with a few segments translated at a time.
+     * Each segment is cached on its own, so the response cache also serves segments of earlier texts.
+     */
+    private Single<Translation> requestTranslation(String inputText, String direction, boolean shouldDetectLanguage) {
+        if (!shouldDetectLanguage) {
+            List<TextSegmenter.Segment> sentences = segmenter.splitSentences(inputText);
+            document.update(sentences, direction);
+            if (sentences.size() > 1) return translateSegments(sentences, direction, this::translateSentence);
+        }
+        List<TextSegmenter.Segment> segments = segmenter.split(inputText);
+        if (segments.size() <= 1) return netService.getTranslation(inputText, direction);
+        return translateSegments(segments, direction, this::translateSegment);
+    }
+
+    private Single<Translation> translateSegments(List<TextSegmenter.Segment> segments, String direction, BiFunction<String, String, Single<Translation>> translate) {
+        return Observable.fromIterable(segments)
+                .concatMapEager(segment -> translate.apply(segment.getText(), direction).toObservable(), Const.SEGMENT_MAX_CONCURRENT_REQUESTS, 1)
+                .toList()
+                .map(translations -> join(segments, translations));
+    }
+
+    private Single<Translation> translateSentence(String sentence, String direction) {
+        Translation translation = document.get(sentence, direction);
+        if (translation != null) return Single.just(translation);
+        return translateSegment(sentence, direction)
+                .doOnSuccess(result -> document.put(sentence, direction, result));
+    }
+
+    private Single<Translation> translateSegment(String text, String direction) {
+        Single<Translation> networkRequest = netService.getTranslation(text, direction)
+                .doOnSuccess(translation -> cache(text, direction, translation));
+        return cacheService.get(text, direction)
+                .switchIfEmpty(networkRequest.toMaybe())
+                .toSingle();
+    }
+
+    // In auto mode the translation is requested with the target language alone, and comes with the detected direction.
+    // It's cached by both, so the same text is found whether it's translated in auto mode or from the detected language.
+    private void cache(String inputText, String direction, Translation translation) {
+        cacheService.put(inputText, translation);
+        if (!direction.equals(translation.getDirection())) cacheService.put(inputText, direction, translation);
+    }
+
+    private static Translation join(List<TextSegmenter.Segment> segments, List<Translation> translations) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            for (RealmString text : translations.get(i).getTranslatedText()) builder.append(text.getValue());
+            builder.append(segments.get(i).getSeparator());
+        }
+        Translation first = translations.get(0);
+        return new Translation(first.getCode(), first.getDirection(), Collections.singletonList(builder.toString()));
+    }
+
+
     public void saveToHistory(Translation translation) {
         long timestamp = Utils.getCurrentTimeSec();
         dbService.setSavedToHistory(translation, true, timestamp);
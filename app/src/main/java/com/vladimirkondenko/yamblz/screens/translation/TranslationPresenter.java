@@ -2,12 +2,16 @@ package com.vladimirkondenko.yamblz.screens.translation;
 
 import android.util.Log;
 
+import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.Utils;
 import com.vladimirkondenko.yamblz.utils.base.BaseLifecyclePresenter;
 
 import javax.inject.Inject;
 
-import io.reactivex.Single;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.subjects.PublishSubject;
 
 
 public class TranslationPresenter extends BaseLifecyclePresenter<TranslationView, TranslationInteractor> {
@@ -17,10 +21,18 @@ public class TranslationPresenter extends BaseLifecyclePresenter<TranslationView
     private String inputLanguage;
     private String outputLanguage;
 
-    private Single<Translation> translationSingle = null;
+    // Text changes and language changes end up here, a new request cancels the one in flight
+    private final PublishSubject<TranslationRequest> requests = PublishSubject.create();
+
+    private TranslationRequest pendingRequest = null;
+    private TranslationRequest currentRequest = null;
 
     private Translation lastTranslation;
 
+    private Disposable detection;
+
+    private int cancelledRequestCount = 0;
+
     @Inject
     public TranslationPresenter(TranslationView view, TranslationInteractor interactor) {
         super(view, interactor);
@@ -28,6 +40,15 @@ public class TranslationPresenter extends BaseLifecyclePresenter<TranslationView
 
     public void onCreateView() {
         view.onBookmarkingEnabled(false);
+        requests.switchMap(this::execute)
+                .compose(bindToLifecycle())
+                .subscribe(this::onTranslationSuccess, throwable -> Log.e(TAG, "Translation stream failed", throwable));
+    }
+
+    @Override
+    public void detachView() {
+        Log.i(TAG, "Requests cancelled during the session: " + cancelledRequestCount);
+        super.detachView();
     }
 
     public void onInputTextChange(String text, boolean isConnected) {
@@ -35,17 +56,24 @@ public class TranslationPresenter extends BaseLifecyclePresenter<TranslationView
             clearText();
         } else {
             enqueueTranslation(text);
-            if (isConnected) executePendingTranslation();
+            if (isDetectingLanguage()) detectLanguage(text);
+            if (isConnected) {
+                executePendingTranslation();
+            } else if (pendingRequest != null) {
+                interactor.translateLater(pendingRequest.inputLanguage, pendingRequest.outputLanguage, pendingRequest.text);
+            }
         }
     }
 
     public void clickClearButton() {
+        cancelTranslation();
         view.onClearButtonClicked();
         view.onBookmarkingEnabled(false);
         saveLastTranslation();
     }
 
     public void clearText() {
+        cancelTranslation();
         view.onTextCleared();
         view.onBookmarkingEnabled(false);
     }
@@ -69,24 +97,16 @@ public class TranslationPresenter extends BaseLifecyclePresenter<TranslationView
 
     public void enqueueTranslation(String originalText) {
         if (inputLanguage != null && outputLanguage != null) {
-            translationSingle = interactor.translate(inputLanguage, outputLanguage, originalText)
-                    .compose(bindToLifecycle());
+            pendingRequest = new TranslationRequest(inputLanguage, outputLanguage, originalText);
         }
     }
 
     public void executePendingTranslation() {
-        if (translationSingle != null && isViewAttached()) {
-            translationSingle.subscribe(
-                    translation -> {
-                        view.onTranslationSuccess(translation);
-                        view.onBookmarkingEnabled(true);
-                        lastTranslation = translation;
-                    },
-                    throwable -> {
-                        if (isViewAttached()) view.onError(throwable, 0);
-                    }
-            );
-        }
+        if (pendingRequest == null || !isViewAttached()) return;
+        // The same request is either still running or has already been shown
+        if (pendingRequest.equals(currentRequest) && !currentRequest.failed) return;
+        currentRequest = pendingRequest;
+        requests.onNext(pendingRequest);
     }
 
     public void selectInputLanguage(String inputLanguage) {
@@ -97,4 +117,85 @@ public class TranslationPresenter extends BaseLifecyclePresenter<TranslationView
         this.outputLanguage = outputLanguage;
     }
 
+    public int getCancelledRequestCount() {
+        return cancelledRequestCount;
+    }
+
+    private boolean isDetectingLanguage() {
+        return Const.LANG_CODE_AUTO.equals(inputLanguage);
+    }
+
+    // Only the language of the latest text is shown
+    private void detectLanguage(String text) {
+        Utils.dispose(detection);
+        detection = interactor.detectLanguage(text)
+                .compose(bindToLifecycle())
+                .subscribe(lang -> {}, throwable -> Log.w(TAG, "Unable to detect the language", throwable));
+    }
+
+    private void cancelTranslation() {
+        Utils.dispose(detection);
+        interactor.finishEditing();
+        pendingRequest = null;
+        currentRequest = null;
+        requests.onNext(TranslationRequest.NONE);
+    }
+
+    private Observable<Translation> execute(TranslationRequest request) {
+        if (request == TranslationRequest.NONE) return Observable.empty();
+        return interactor.translate(request.inputLanguage, request.outputLanguage, request.text)
+                .toObservable()
+                .doOnTerminate(() -> request.finished = true)
+                .doOnDispose(() -> {
+                    if (!request.finished) cancelledRequestCount++;
+                })
+                .doOnError(throwable -> {
+                    request.failed = true;
+                    if (isViewAttached()) view.onError(throwable, 0);
+                })
+                .onErrorResumeNext(Observable.<Translation>empty());
+    }
+
+    private void onTranslationSuccess(Translation translation) {
+        if (!isViewAttached()) return;
+        view.onTranslationSuccess(translation);
+        view.onBookmarkingEnabled(true);
+        lastTranslation = translation;
+    }
+
+    private static final class TranslationRequest {
+
+        // Cancels the request in flight without starting a new one
+        static final TranslationRequest NONE = new TranslationRequest("", "", "");
+
+        final String inputLanguage;
+        final String outputLanguage;
+        final String text;
+
+        boolean finished = false;
+        boolean failed = false;
+
+        TranslationRequest(String inputLanguage, String outputLanguage, String text) {
+            this.inputLanguage = inputLanguage;
+            this.outputLanguage = outputLanguage;
+            this.text = text;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TranslationRequest)) return false;
+            TranslationRequest that = (TranslationRequest) o;
+            return inputLanguage.equals(that.inputLanguage)
+                    && outputLanguage.equals(that.outputLanguage)
+                    && text.equals(that.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Utils.hashCode(inputLanguage, outputLanguage, text);
+        }
+
+    }
+
 }
@@ -0,0 +1,121 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleTransformer;
+
+/**
+ * Debounces user input with a quiet period which adapts to
+ * the typing cadence and to the recent network round-trip times.
+ * <p>
+ * A pause shorter than the user's usual interval between keystrokes
+ * most likely means they are still typing, so the quiet period never goes
+ * below 1.5 times the median interval. On slow networks it also grows
+ * with the 90th percentile of the round-trip time to avoid sending
+ * requests which will be cancelled by the next keystroke anyway.
+ */
+public class AdaptiveDebouncer {
+
+    private static final int CADENCE_WINDOW_SIZE = 20;
+    private static final int ROUND_TRIP_WINDOW_SIZE = 10;
+
+    private static final double CADENCE_FACTOR = 1.5;
+    private static final double ROUND_TRIP_FACTOR = 0.5;
+
+    private final Scheduler scheduler;
+
+    private final long minDelayMs;
+    private final long maxDelayMs;
+    private final long initialDelayMs;
+
+    private final SlidingWindow cadence = new SlidingWindow(CADENCE_WINDOW_SIZE);
+    private final SlidingWindow roundTrips = new SlidingWindow(ROUND_TRIP_WINDOW_SIZE);
+
+    private long lastKeystrokeMs = -1;
+
+    public AdaptiveDebouncer(Scheduler scheduler, long minDelayMs, long maxDelayMs, long initialDelayMs) {
+        this.scheduler = scheduler;
+        this.minDelayMs = minDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.initialDelayMs = initialDelayMs;
+    }
+
+    public <T> ObservableTransformer<T, T> debounce() {
+        return upstream -> upstream
+                .doOnNext(item -> recordKeystroke())
+                .debounce(item -> Observable.timer(getQuietPeriod(), TimeUnit.MILLISECONDS, scheduler));
+    }
+
+    /**
+     * Records the round-trip time of every successful request.
+     */
+    public <T> SingleTransformer<T, T> trackRoundTrip() {
+        return upstream -> Single.defer(() -> {
+            long start = now();
+            return upstream.doOnSuccess(result -> recordRoundTrip(now() - start));
+        });
+    }
+
+    public synchronized long getQuietPeriod() {
+        if (cadence.isEmpty() && roundTrips.isEmpty()) return initialDelayMs;
+        long typingDelay = cadence.isEmpty() ? 0 : (long) (CADENCE_FACTOR * cadence.percentile(0.5));
+        long networkDelay = roundTrips.isEmpty() ? 0 : (long) (ROUND_TRIP_FACTOR * roundTrips.percentile(0.9));
+        return Math.max(minDelayMs, Math.min(maxDelayMs, Math.max(typingDelay, networkDelay)));
+    }
+
+    public synchronized long getRoundTripPercentile(double percentile) {
+        return roundTrips.isEmpty() ? 0 : roundTrips.percentile(percentile);
+    }
+
+    public synchronized void recordRoundTrip(long millis) {
+        roundTrips.add(millis);
+    }
+
+    private synchronized void recordKeystroke() {
+        long time = now();
+        if (lastKeystrokeMs >= 0) {
+            long interval = time - lastKeystrokeMs;
+            // Longer pauses are breaks in typing rather than its cadence
+            if (interval < 2 * maxDelayMs) cadence.add(interval);
+        }
+        lastKeystrokeMs = time;
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    private static final class SlidingWindow {
+
+        private final long[] samples;
+        private int size = 0;
+        private int next = 0;
+
+        SlidingWindow(int capacity) {
+            samples = new long[capacity];
+        }
+
+        void add(long sample) {
+            samples[next] = sample;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) size++;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long percentile(double percentile) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.round(percentile * (size - 1))];
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A Bloom filter over strings.
+ * {@link #mightContain(String)} never returns false for an added string,
+ * but may return true for a string which has never been added.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashFunctionCount;
+
+    private long insertionCount = 0;
+
+    /**
+     * @param expectedInsertions    how many strings the filter is sized for
+     * @param falsePositiveRate     the desired false positive rate after that many insertions
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        int m = (int) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = Math.max(1, (m + 63) / 64);
+        this.bits = new long[words];
+        this.bitCount = words * 64;
+        this.hashFunctionCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    private BloomFilter(long[] bits, int hashFunctionCount, long insertionCount) {
+        this.bits = bits;
+        this.bitCount = bits.length * 64;
+        this.hashFunctionCount = hashFunctionCount;
+        this.insertionCount = insertionCount;
+    }
+
+    public void put(String value) {
+        int hash1 = value.hashCode();
+        int hash2 = secondHash(value);
+        for (int i = 0; i < hashFunctionCount; i++) {
+            int index = index(hash1, hash2, i);
+            bits[index >>> 6] |= 1L << index;
+        }
+        insertionCount++;
+    }
+
+    public boolean mightContain(String value) {
+        int hash1 = value.hashCode();
+        int hash2 = secondHash(value);
+        for (int i = 0; i < hashFunctionCount; i++) {
+            int index = index(hash1, hash2, i);
+            if ((bits[index >>> 6] & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The false positive rate expected for the number of strings added so far.
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctionCount * (double) insertionCount / bitCount), hashFunctionCount);
+    }
+
+    public long getInsertionCount() {
+        return insertionCount;
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(hashFunctionCount);
+        out.writeLong(insertionCount);
+        out.writeInt(bits.length);
+        for (long word : bits) out.writeLong(word);
+    }
+
+    public static BloomFilter readFrom(DataInputStream in) throws IOException {
+        int hashFunctionCount = in.readInt();
+        long insertionCount = in.readLong();
+        int words = in.readInt();
+        if (hashFunctionCount <= 0 || words <= 0) throw new IOException("Corrupted Bloom filter");
+        long[] bits = new long[words];
+        for (int i = 0; i < words; i++) bits[i] = in.readLong();
+        return new BloomFilter(bits, hashFunctionCount, insertionCount);
+    }
+
+    // Kirsch-Mitzenmacher double hashing, the k indices are derived from two hashes
+    private int index(int hash1, int hash2, int i) {
+        int combined = hash1 + i * hash2;
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // 32-bit FNV-1a over UTF-16 chars, independent from String.hashCode()
+    private static int secondHash(String value) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= 0x01000193;
+            hash ^= c >>> 8;
+            hash *= 0x01000193;
+        }
+        return hash | 1; // Odd, so it never collapses all indices into one
+    }
+
+}
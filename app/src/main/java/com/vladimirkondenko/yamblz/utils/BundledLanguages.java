@@ -0,0 +1,78 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The languages bundled with the app for every UI locale the API supports, so the languages
+ * are shown at once whatever the locale. They are stored as {@link LanguageTable}s in the assets,
+ * uncompressed, so they are read straight from the APK.
+ * <p>
+ * A table is only read the first time its locale is asked for, and the same read-only instance
+ * is returned afterwards.
+ */
+public class BundledLanguages {
+
+    private static final String TABLE_DIR = "languages";
+    private static final String TABLE_EXTENSION = ".lt";
+
+    private final AssetManager assets;
+    private final Map<String, Languages> tables = new HashMap<>();
+
+    // Locales with a table, listed on first use
+    private Set<String> locales = null;
+
+    public BundledLanguages(Context context) {
+        this.assets = context.getAssets();
+    }
+
+    /**
+     * Returns the languages named in the language of the locale, or in English if there's no table for it.
+     */
+    public synchronized Languages get(String locale) {
+        String tableLocale = getLocales().contains(locale) ? locale : Const.LANG_CODE_EN;
+        Languages languages = tables.get(tableLocale);
+        if (languages == null) {
+            languages = read(tableLocale).makeReadOnly();
+            tables.put(tableLocale, languages);
+        }
+        return languages;
+    }
+
+    private Set<String> getLocales() {
+        if (locales == null) {
+            locales = new HashSet<>();
+            try {
+                for (String name : assets.list(TABLE_DIR)) {
+                    if (name.endsWith(TABLE_EXTENSION)) locales.add(name.substring(0, name.length() - TABLE_EXTENSION.length()));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to list the bundled languages", e);
+            }
+        }
+        return locales;
+    }
+
+    private Languages read(String locale) {
+        InputStream in = null;
+        try {
+            in = assets.open(TABLE_DIR + "/" + locale + TABLE_EXTENSION);
+            return LanguageTable.read(in, locale);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the bundled languages for " + locale, e);
+        } finally {
+            Utils.closeQuietly(in);
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The languages of a list sorted by name the way names are sorted in the language they are named in,
+ * with the position of every language by its code.
+ * <p>
+ * Every name is turned into a {@link CollationKey} once, so sorting compares bytes instead of
+ * running the collator on both names for each comparison. An index is immutable, so the same one
+ * is shared by both language spinners and kept across resumes by {@link LanguageIndexCache}.
+ * The lazily built {@link LanguageSearchIndex} is shared the same way.
+ */
+public final class LanguageIndex {
+
+    private final String userLanguageCode;
+    private final String[] codes;
+    private final String[] names;
+    private final Map<String, Integer> positions;
+
+    // Built on first use, most sessions never search
+    private LanguageSearchIndex searchIndex = null;
+
+    private LanguageIndex(String userLanguageCode, Language[] languages) {
+        this.userLanguageCode = userLanguageCode;
+        codes = new String[languages.length];
+        names = new String[languages.length];
+        positions = new HashMap<>(languages.length * 4 / 3 + 1);
+        for (int i = 0; i < languages.length; i++) {
+            codes[i] = languages[i].code;
+            names[i] = languages[i].name;
+            positions.put(codes[i], i);
+        }
+    }
+
+    public static LanguageIndex create(Languages languages) {
+        Collator collator = Collator.getInstance(new Locale(languages.getUserLanguageCode()));
+        Language[] sorted = new Language[languages.getLanguages().size()];
+        int i = 0;
+        for (Map.Entry<String, String> language : languages.getLanguages().entrySet()) {
+            sorted[i++] = new Language(language.getKey(), language.getValue(), collator.getCollationKey(language.getValue()));
+        }
+        Arrays.sort(sorted);
+        return new LanguageIndex(languages.getUserLanguageCode(), sorted);
+    }
+
+    /**
+     * An index of languages which are already in their sorted order, like the bundled ones
+     * which are sorted at build time, so neither collation keys nor sorting are needed.
+     */
+    public static LanguageIndex fromSorted(Languages languages) {
+        Language[] sorted = new Language[languages.getLanguages().size()];
+        int i = 0;
+        for (Map.Entry<String, String> language : languages.getLanguages().entrySet()) {
+            sorted[i++] = new Language(language.getKey(), language.getValue(), null);
+        }
+        return new LanguageIndex(languages.getUserLanguageCode(), sorted);
+    }
+
+    /**
+     * The language the names are in.
+     */
+    public String getUserLanguageCode() {
+        return userLanguageCode;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public String getCode(int position) {
+        return codes[position];
+    }
+
+    public String getName(int position) {
+        return names[position];
+    }
+
+    /**
+     * Returns -1 if there's no language with the code.
+     */
+    public int getPosition(String code) {
+        Integer position = positions.get(code);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * The prefix index of the names and codes, built the first time it's asked for.
+     */
+    public synchronized LanguageSearchIndex getSearchIndex() {
+        if (searchIndex == null) searchIndex = LanguageSearchIndex.create(this);
+        return searchIndex;
+    }
+
+    /**
+     * Whether the index was created from the same languages with the same names.
+     */
+    public boolean matches(Languages languages) {
+        if (!userLanguageCode.equals(languages.getUserLanguageCode())) return false;
+        if (languages.getLanguages().size() != codes.length) return false;
+        for (Map.Entry<String, String> language : languages.getLanguages().entrySet()) {
+            int position = getPosition(language.getKey());
+            if (position == -1 || !names[position].equals(language.getValue())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * A new map of the languages in their sorted order.
+     */
+    public LinkedHashMap<String, String> toMap() {
+        LinkedHashMap<String, String> languages = new LinkedHashMap<>(codes.length * 4 / 3 + 1);
+        for (int i = 0; i < codes.length; i++) languages.put(codes[i], names[i]);
+        return languages;
+    }
+
+    private static final class Language implements Comparable<Language> {
+
+        final String code;
+        final String name;
+        final CollationKey key;
+
+        Language(String code, String name, CollationKey key) {
+            this.code = code;
+            this.name = name;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Language that) {
+            return key.compareTo(that.key);
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the latest {@link LanguageIndex} of every locale,
+ * so the languages are only sorted again when they change.
+ */
+public class LanguageIndexCache {
+
+    private final Map<String, LanguageIndex> indexes = new HashMap<>();
+
+    private int createdCount = 0;
+
+    /**
+     * Returns the same index for the same languages, however many times they were loaded.
+     */
+    public synchronized LanguageIndex get(Languages languages) {
+        LanguageIndex index = indexes.get(languages.getUserLanguageCode());
+        if (index == null || !index.matches(languages)) {
+            index = LanguageIndex.create(languages);
+            indexes.put(languages.getUserLanguageCode(), index);
+            createdCount++;
+        }
+        return index;
+    }
+
+    /**
+     * Caches the index of languages already in their sorted order, like the bundled ones,
+     * so {@link #get(Languages)} returns it instead of sorting them again.
+     * The build may sort names slightly differently than the device, but refreshed languages
+     * with the same names get this index too, so the order only changes along with the names.
+     */
+    public synchronized void putSorted(Languages languages) {
+        LanguageIndex index = indexes.get(languages.getUserLanguageCode());
+        if (index == null || !index.matches(languages)) {
+            indexes.put(languages.getUserLanguageCode(), LanguageIndex.fromSorted(languages));
+        }
+    }
+
+    /**
+     * The number of times languages were sorted.
+     */
+    public synchronized int getCreatedCount() {
+        return createdCount;
+    }
+
+}
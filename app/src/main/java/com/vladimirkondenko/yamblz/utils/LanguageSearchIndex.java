@@ -0,0 +1,208 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds the languages of a {@link LanguageIndex} by the first letters of their names as the user types.
+ * <p>
+ * Every language is found by its name, its name in itself and its code. The names are lowercased
+ * and stripped of accents, both here and in the query, and any word of a name can be typed
+ * on its own, e.g. "gaelic" finds Scottish Gaelic. The words go into a prefix trie in which
+ * every node already lists the languages found by its prefix, with the best way each is matched,
+ * so a query only walks down as many nodes as it has letters and sorts the languages listed there.
+ * <p>
+ * Languages are ranked by how they match, then by how often they were used, then by name.
+ * Built once per index, see {@link LanguageIndex#getSearchIndex()}, and immutable afterwards.
+ */
+public final class LanguageSearchIndex {
+
+    // How a language is matched, the better ones are higher
+    static final int MATCH_CODE_PREFIX = 1;
+    static final int MATCH_WORD = 2;
+    static final int MATCH_NATIVE_NAME = 3;
+    static final int MATCH_NAME = 4;
+    static final int MATCH_CODE = 5;
+
+    private static final int MAX_USAGE = 0xFFFF;
+
+    private final LanguageIndex languages;
+    private final Node root = new Node();
+    private final int[] all;
+
+    private int nodeCount = 1;
+
+    private LanguageSearchIndex(LanguageIndex languages) {
+        this.languages = languages;
+        all = new int[languages.size()];
+        for (int i = 0; i < all.length; i++) all[i] = pack(i, 0);
+    }
+
+    public static LanguageSearchIndex create(LanguageIndex languages) {
+        LanguageSearchIndex index = new LanguageSearchIndex(languages);
+        for (int i = 0; i < languages.size(); i++) {
+            String code = languages.getCode(i);
+            index.addName(i, languages.getName(i), MATCH_NAME);
+            index.addName(i, getNativeName(code), MATCH_NATIVE_NAME);
+            index.add(i, normalize(code), MATCH_CODE_PREFIX, MATCH_CODE);
+        }
+        return index;
+    }
+
+    /**
+     * The positions in the {@link LanguageIndex} of the languages found by the query, best first.
+     * An empty query finds every language.
+     *
+     * @param usage how many times each language was used, by its position, see {@link #getUsage(Map)}
+     */
+    public int[] search(String query, int[] usage) {
+        String normalized = normalize(query);
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) node = node.get(normalized.charAt(i));
+        if (node == null) return new int[0];
+        int[] matches = node == root ? all : node.matches;
+        int count = node == root ? all.length : node.matchCount;
+        // Sorting packed keys needs neither comparators nor boxing
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int position = position(matches[i]);
+            long used = Math.min(usage[position], MAX_USAGE);
+            keys[i] = ((long) (MATCH_CODE - match(matches[i])) << 48) | ((MAX_USAGE - used) << 32) | position;
+        }
+        Arrays.sort(keys);
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) positions[i] = (int) keys[i];
+        return positions;
+    }
+
+    /**
+     * The usage of the languages by their positions in the index, the ones not in the index are left out.
+     */
+    public int[] getUsage(Map<String, Integer> usageByCode) {
+        int[] usage = new int[languages.size()];
+        for (Map.Entry<String, Integer> entry : usageByCode.entrySet()) {
+            int position = languages.getPosition(entry.getKey());
+            if (position != -1) usage[position] = entry.getValue();
+        }
+        return usage;
+    }
+
+    public LanguageIndex getLanguages() {
+        return languages;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Lowercase, without accents and with single spaces between words, so "  Français" is found by "franc".
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                if (space && builder.length() > 0) builder.append(' ');
+                builder.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return builder.toString();
+    }
+
+    // The name of the language in itself, null if the platform doesn't know the language
+    private static String getNativeName(String code) {
+        Locale locale = new Locale(code);
+        String name = locale.getDisplayLanguage(locale);
+        return name.isEmpty() || name.equalsIgnoreCase(code) ? null : name;
+    }
+
+    private void addName(int position, String name, int match) {
+        if (name == null) return;
+        String normalized = normalize(name);
+        // The whole name, so words can be typed in a row, then every following word on its own
+        add(position, normalized, match, match);
+        for (int i = normalized.indexOf(' '); i != -1; i = normalized.indexOf(' ', i + 1)) {
+            add(position, normalized.substring(i + 1), MATCH_WORD, MATCH_WORD);
+        }
+    }
+
+    // Every prefix of the word finds the language, the whole word may find it with a better match
+    private void add(int position, String word, int prefixMatch, int wordMatch) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            Node child = node.get(word.charAt(i));
+            if (child == null) {
+                child = node.add(word.charAt(i));
+                nodeCount++;
+            }
+            node = child;
+            node.addMatch(position, i == word.length() - 1 ? wordMatch : prefixMatch);
+        }
+    }
+
+    private static int pack(int position, int match) {
+        return (position << 8) | match;
+    }
+
+    private static int position(int packed) {
+        return packed >>> 8;
+    }
+
+    private static int match(int packed) {
+        return packed & 0xFF;
+    }
+
+    private static final class Node {
+
+        // Sorted by character, searched by bisection
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+
+        // The languages found by the prefix of the node with their best match, packed together
+        int[] matches = new int[2];
+        int matchCount = 0;
+
+        Node get(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node add(char c) {
+            int i = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            Node child = new Node();
+            newKeys[i] = c;
+            newChildren[i] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void addMatch(int position, int match) {
+            for (int i = 0; i < matchCount; i++) {
+                if (position(matches[i]) == position) {
+                    if (match(matches[i]) < match) matches[i] = pack(position, match);
+                    return;
+                }
+            }
+            if (matchCount == matches.length) matches = Arrays.copyOf(matches, matchCount * 2);
+            matches[matchCount++] = pack(position, match);
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A compact binary form of a language list, which the bundled lists are compiled into
+ * at build time by the generateLanguageTables task of the app module.
+ * <p>
+ * The table starts with {@link #MAGIC}, the time the list was fetched from the API and the number
+ * of languages, followed by the code and the name of every language in modified UTF-8,
+ * in the order the languages are shown. So the index of a language is both its id and its position,
+ * and nothing is sorted when reading.
+ */
+public final class LanguageTable {
+
+    public static final int MAGIC = 0x594C5432; // YLT2
+
+    private LanguageTable() {
+    }
+
+    public static Languages read(InputStream inputStream, String userLanguageCode) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) throw new IOException("Not a language table");
+        long fetchedAt = in.readLong();
+        int count = in.readUnsignedShort();
+        // Sized so the map never rehashes
+        LinkedHashMap<String, String> languages = new LinkedHashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            String code = in.readUTF();
+            languages.put(code, in.readUTF());
+        }
+        Languages result = new Languages();
+        result.setLanguages(languages);
+        result.setUserLanguageCode(userLanguageCode);
+        result.setFetchedAt(fetchedAt);
+        return result;
+    }
+
+    /**
+     * Writes the languages in their current order, the same way the build does.
+     */
+    public static void write(Languages languages, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeLong(languages.getFetchedAt());
+        out.writeShort(languages.getLanguages().size());
+        for (Map.Entry<String, String> language : languages.getLanguages().entrySet()) {
+            out.writeUTF(language.getKey());
+            out.writeUTF(language.getValue());
+        }
+        out.flush();
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text which is too long for a single request into segments
+ * which can be translated independently and joined back in order.
+ * <p>
+ * A text within the limit stays whole, so the translation has the full context.
+ * Longer texts are split into paragraphs, and paragraphs which are still too long
+ * into groups of sentences. Paragraphs are never merged, so editing one of them
+ * leaves the others, and so their cached translations, unchanged.
+ * A sentence longer than the limit is cut at the last whitespace before it.
+ * <p>
+ * {@link #splitSentences(String)} always splits down to single sentences,
+ * so an edit changes as few segments as possible.
+ */
+public class TextSegmenter {
+
+    private final int maxLength;
+
+    public TextSegmenter(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Joining the text and the separator of every segment gives the original text without its leading whitespace.
+     */
+    public List<Segment> split(String text) {
+        return split(text, false);
+    }
+
+    /**
+     * Same as {@link #split(String)}, but every sentence is a segment of its own, however short the text is.
+     */
+    public List<Segment> splitSentences(String text) {
+        return split(text, true);
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    private List<Segment> split(String text, boolean bySentence) {
+        List<Segment> segments = new ArrayList<>();
+        int start = skipWhitespace(text, 0, text.length());
+        if (!bySentence && text.length() - start <= maxLength) {
+            add(text, start, trimmedEnd(text, start, text.length()), text.length(), segments);
+            return segments;
+        }
+        while (start < text.length()) {
+            int lineBreak = text.indexOf('\n', start);
+            int end = lineBreak == -1 ? text.length() : lineBreak;
+            int next = skipWhitespace(text, end, text.length());
+            splitParagraph(text, start, trimmedEnd(text, start, end), next, bySentence, segments);
+            start = next;
+        }
+        return segments;
+    }
+
+    private void splitParagraph(String text, int start, int end, int next, boolean bySentence, List<Segment> segments) {
+        if (!bySentence && end - start <= maxLength) {
+            add(text, start, end, next, segments);
+            return;
+        }
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.getDefault());
+        sentences.setText(text.substring(start, end));
+        int chunkStart = start;
+        int chunkEnd = start;
+        for (int boundary = sentences.next(); boundary != BreakIterator.DONE; boundary = sentences.next()) {
+            int sentenceEnd = start + boundary;
+            if (sentenceEnd - chunkStart <= maxLength && (!bySentence || chunkEnd == chunkStart)) {
+                chunkEnd = sentenceEnd;
+                continue;
+            }
+            if (chunkEnd > chunkStart) {
+                // Sentence boundaries may fall before the whitespace between sentences
+                int nextStart = skipWhitespace(text, chunkEnd, sentenceEnd);
+                add(text, chunkStart, trimmedEnd(text, chunkStart, chunkEnd), nextStart, segments);
+                chunkStart = nextStart;
+            }
+            // A single sentence above the limit
+            while (sentenceEnd - chunkStart > maxLength) {
+                int cut = cut(text, chunkStart);
+                int cutNext = skipWhitespace(text, cut, sentenceEnd);
+                add(text, chunkStart, cut, cutNext, segments);
+                chunkStart = cutNext;
+            }
+            chunkEnd = sentenceEnd;
+        }
+        add(text, chunkStart, trimmedEnd(text, chunkStart, chunkEnd), next, segments);
+    }
+
+    // The end of the longest piece within the limit, preferably at a whitespace
+    private int cut(String text, int start) {
+        int limit = start + maxLength;
+        for (int i = limit; i > start; i--) {
+            if (Character.isWhitespace(text.charAt(i))) return trimmedEnd(text, start, i);
+        }
+        // Never split a surrogate pair
+        return Character.isHighSurrogate(text.charAt(limit - 1)) ? limit - 1 : limit;
+    }
+
+    private static void add(String text, int start, int end, int next, List<Segment> segments) {
+        if (end > start) {
+            segments.add(new Segment(text.substring(start, end), text.substring(end, next)));
+        } else if (!segments.isEmpty()) {
+            // Nothing but whitespace, keep it with the previous segment
+            Segment last = segments.remove(segments.size() - 1);
+            segments.add(new Segment(last.getText(), last.getSeparator() + text.substring(start, next)));
+        }
+    }
+
+    private static int skipWhitespace(String text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        return start;
+    }
+
+    private static int trimmedEnd(String text, int start, int end) {
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+        return end;
+    }
+
+    public static final class Segment {
+
+        private final String text;
+        private final String separator;
+
+        Segment(String text, String separator) {
+            this.text = text;
+            this.separator = separator;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * The whitespace between this segment and the next one.
+         */
+        public String getSeparator() {
+            return separator;
+        }
+
+    }
+
+}
@@ -12,13 +12,10 @@ import android.widget.TextView;
 
 import com.vladimirkondenko.yamblz.R;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.Map;
 
 import io.reactivex.disposables.Disposable;
 
@@ -26,6 +23,9 @@ public final class Utils {
 
     private static final String DEFAULT_JSON_ENCODING = "UTF-8";
 
+    private static final long FNV_64_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_64_PRIME = 0x100000001b3L;
+
     public static boolean areFieldsEmpty(TextView... textViews) {
         for (TextView textView : textViews) {
             if (isEmpty(textView)) return true;
@@ -55,32 +55,33 @@ public final class Utils {
         }
     }
 
-    public static <K , V extends Comparable> LinkedHashMap<K, V> sortByValues(LinkedHashMap<K, V> map) {
-        LinkedHashMap<K, V> sortedMap = new LinkedHashMap<>();
-        LinkedList<Map.Entry<K, V>> entries = new LinkedList<>(map.entrySet());
-        Collections.sort(entries, (entryA, entryB) -> entryA.getValue().compareTo(entryB.getValue()));
-        for (Iterator<Map.Entry<K, V>> it = entries.iterator(); it.hasNext(); ) {
-            Map.Entry<K, V> entry = it.next();
-            sortedMap.put(entry.getKey(), entry.getValue());
-        }
-        return sortedMap;
-    }
-
     public static String getJsonFromRawResources(Context context, @RawRes int rawResourceName) {
         String json = "";
+        InputStream is = null;
         try {
-            InputStream is = context.getResources().openRawResource(rawResourceName);
-            int size = is.available();
-            byte[] buffer = new byte[size];
-            is.read(buffer);
-            is.close();
-            json = new String(buffer, DEFAULT_JSON_ENCODING);
+            is = context.getResources().openRawResource(rawResourceName);
+            // available() is only an estimate, so the stream is read until its end
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(is.available(), 1024));
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) != -1) out.write(buffer, 0, read);
+            json = out.toString(DEFAULT_JSON_ENCODING);
         } catch (IOException ex) {
             ex.printStackTrace();
+        } finally {
+            closeQuietly(is);
         }
         return json;
     }
 
+    public static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
     public static long getCurrentTimeSec() {
         return System.currentTimeMillis() / 1000;
     }
@@ -104,4 +105,21 @@ public final class Utils {
         return result;
     }
 
+    /**
+     * 64-bit FNV-1a hash of the strings, suitable for content-addressed keys.
+     */
+    public static long hash64(String... strings) {
+        long hash = FNV_64_OFFSET_BASIS;
+        for (String string : strings) {
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                hash = (hash ^ (c & 0xff)) * FNV_64_PRIME;
+                hash = (hash ^ (c >>> 8)) * FNV_64_PRIME;
+            }
+            // Mixing in the length keeps ("ab", "c") and ("a", "bc") apart
+            hash = (hash ^ string.length()) * FNV_64_PRIME;
+        }
+        return hash;
+    }
+
 }
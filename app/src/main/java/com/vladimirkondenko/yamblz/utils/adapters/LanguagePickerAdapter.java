@@ -0,0 +1,83 @@
+package com.vladimirkondenko.yamblz.utils.adapters;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.TextView;
+
+import com.vladimirkondenko.yamblz.R;
+import com.vladimirkondenko.yamblz.utils.LanguageSearchIndex;
+
+/**
+ * Shows the languages found by the query typed into the language picker, best matches first.
+ * Every keystroke searches the {@link LanguageSearchIndex} again, which only takes microseconds,
+ * so there's no need to filter in the background. Rows are recycled like in {@link LanguageSpinnerAdapter}.
+ */
+public class LanguagePickerAdapter extends BaseAdapter {
+
+    private static final int layout = R.layout.item_translation_language_spinner;
+
+    private final LanguageSearchIndex languages;
+    private final LayoutInflater inflater;
+
+    private int[] usage;
+    private String query = "";
+    private int[] results;
+
+    public LanguagePickerAdapter(@NonNull Context context, LanguageSearchIndex languages) {
+        this.languages = languages;
+        inflater = LayoutInflater.from(context);
+        usage = new int[languages.getLanguages().size()];
+        results = languages.search(query, usage);
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+        search();
+    }
+
+    /**
+     * How many times each language was used, by its position in the index.
+     */
+    public void setUsage(int[] usage) {
+        this.usage = usage;
+        search();
+    }
+
+    @Override
+    public int getCount() {
+        return results.length;
+    }
+
+    @Override
+    public String getItem(int i) {
+        return languages.getLanguages().getCode(results[i]);
+    }
+
+    @Override
+    public long getItemId(int i) {
+        return results[i];
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        TextView textView = (TextView) convertView;
+        if (textView == null) textView = (TextView) inflater.inflate(layout, parent, false);
+        textView.setText(languages.getLanguages().getName(results[position]));
+        return textView;
+    }
+
+    private void search() {
+        results = languages.search(query, usage);
+        notifyDataSetChanged();
+    }
+
+}
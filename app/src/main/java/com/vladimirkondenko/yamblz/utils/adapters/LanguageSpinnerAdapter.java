@@ -10,65 +10,63 @@ import android.widget.TextView;
 
 import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.R;
-import com.vladimirkondenko.yamblz.model.entities.Languages;
-
-import java.util.LinkedHashMap;
-
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+
+/**
+ * Shows the languages of a {@link LanguageIndex}, optionally preceded by the "Detect language" item.
+ * The index is shared, not copied, so both spinners show the same instance,
+ * and its names are shown as they are. Rows are recycled, so scrolling the dropdown
+ * only inflates as many rows as fit on the screen.
+ */
 public class LanguageSpinnerAdapter extends BaseAdapter {
 
     private static final int layout = R.layout.item_translation_language_spinner;
 
-    private Context context;
+    private final String autodetectName;
 
-    private LinkedHashMap<String, String> dataset = new LinkedHashMap<>();
-    private String[] keys;
+    private LanguageIndex languages = null;
 
     private LayoutInflater inflater;
 
-    public LanguageSpinnerAdapter(@NonNull Context context) {
-        this(context, new Languages());
-    }
+    private int inflatedViewCount = 0;
 
-    public LanguageSpinnerAdapter(@NonNull Context context, Languages languages) {
-        setLangs(languages);
-        this.context = context;
+    public LanguageSpinnerAdapter(@NonNull Context context, boolean addAutodetectOption) {
+        autodetectName = addAutodetectOption ? context.getString(R.string.main_detect_language) : null;
         inflater = LayoutInflater.from(context);
     }
 
-    public void setLangs(Languages langs) {
-        setLangs(langs, false);
-    }
-
-    public void setLangs(Languages languages, boolean addAutodetectOption) {
-        if (addAutodetectOption) {
-            dataset.put(Const.LANG_CODE_AUTO, context.getString(R.string.main_detect_language));
-        }
-        dataset.putAll(languages.getLanguages());
-        keys = dataset.keySet().toArray(new String[dataset.size()]);
+    public void setLangs(LanguageIndex languages) {
+        this.languages = languages;
         notifyDataSetChanged();
     }
 
     @Override
     public int getCount() {
-        return dataset.size();
+        if (languages == null) return 0;
+        return languages.size() + getOffset();
     }
 
     public String getItemValue(int i) {
-        return dataset.get(getItem(i));
+        if (i < getOffset()) return autodetectName;
+        return languages.getName(i - getOffset());
     }
 
     @Override
     public String getItem(int i) {
-        if (keys.length == 0) return "";
-        String item = keys[i];
-        return item != null ? item : "";
+        if (getCount() == 0) return "";
+        if (i < getOffset()) return Const.LANG_CODE_AUTO;
+        return languages.getCode(i - getOffset());
+    }
+
+    public int getInflatedViewCount() {
+        return inflatedViewCount;
     }
 
     public int getItemPosition(String lang) {
-        for (int i = 0; i < keys.length; i++) {
-            if (keys[i].equals(lang)) return i;
-        }
-        return -1;
+        if (autodetectName != null && Const.LANG_CODE_AUTO.equals(lang)) return 0;
+        if (languages == null) return -1;
+        int position = languages.getPosition(lang);
+        return position == -1 ? -1 : position + getOffset();
     }
 
     @Override
@@ -77,26 +75,28 @@ public class LanguageSpinnerAdapter extends BaseAdapter {
     }
 
     @Override
-    public int getItemViewType(int position) {
-        return super.getItemViewType(position);
+    public View getView(int position, View convertView, ViewGroup parent) {
+        return getCustomView(position, convertView, parent);
     }
 
     @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        return getCustomView(position, parent);
+    public View getDropDownView(int position, View convertView, ViewGroup parent) {
+        return getCustomView(position, convertView, parent);
     }
 
-    @Override
-    public View getDropDownView(int position, View view, ViewGroup parent) {
-        return getCustomView(position, parent);
+    // The "Detect language" item comes first
+    private int getOffset() {
+        return autodetectName == null ? 0 : 1;
     }
 
-    private View getCustomView(int position, ViewGroup parent) {
-        TextView textView = (TextView) inflater.inflate(layout, parent, false);
-        String value = getItemValue(position);
-        textView.setText(value);
+    private View getCustomView(int position, View convertView, ViewGroup parent) {
+        TextView textView = (TextView) convertView;
+        if (textView == null) {
+            textView = (TextView) inflater.inflate(layout, parent, false);
+            inflatedViewCount++;
+        }
+        textView.setText(getItemValue(position));
         return textView;
     }
 
-
 }
@@ -0,0 +1,24 @@
+package com.vladimirkondenko.yamblz.utils.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+
+/**
+ * Creates a Gson object which decodes API responses with streaming adapters.
+ * Unlike {@link com.vladimirkondenko.yamblz.utils.RealmGson}, it never inspects
+ * the fields of the Realm proxies by reflection.
+ */
+public final class ApiGson {
+
+    public static Gson create() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Translation.class, new TranslationTypeAdapter().nullSafe())
+                .registerTypeAdapter(Languages.class, new LanguagesTypeAdapter().nullSafe())
+                .registerTypeAdapter(DetectedLanguage.class, new DetectedLanguageTypeAdapter().nullSafe())
+                .create();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.vladimirkondenko.yamblz.utils.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
+
+import java.io.IOException;
+
+/**
+ * Reads a response of the detect method without reflection.
+ */
+public class DetectedLanguageTypeAdapter extends TypeAdapter<DetectedLanguage> {
+
+    private static final String NAME_CODE = "code";
+    private static final String NAME_LANG = "lang";
+
+    @Override
+    public void write(JsonWriter out, DetectedLanguage value) throws IOException {
+        out.beginObject();
+        out.name(NAME_CODE).value(value.code);
+        out.name(NAME_LANG).value(value.lang);
+        out.endObject();
+    }
+
+    @Override
+    public DetectedLanguage read(JsonReader in) throws IOException {
+        DetectedLanguage language = new DetectedLanguage();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME_CODE:
+                    // The code is a number, but is declared as a String
+                    language.code = in.nextString();
+                    break;
+                case NAME_LANG:
+                    language.lang = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return language;
+    }
+
+}
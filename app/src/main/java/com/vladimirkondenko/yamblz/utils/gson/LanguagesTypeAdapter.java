@@ -0,0 +1,50 @@
+package com.vladimirkondenko.yamblz.utils.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads a response of the getLangs method without reflection.
+ * The deprecated list of directions is skipped, the app only uses the names of the languages.
+ */
+public class LanguagesTypeAdapter extends TypeAdapter<Languages> {
+
+    private static final String NAME_LANGS = "langs";
+
+    @Override
+    public void write(JsonWriter out, Languages value) throws IOException {
+        out.beginObject();
+        out.name(NAME_LANGS).beginObject();
+        for (Map.Entry<String, String> language : value.getLanguages().entrySet()) {
+            out.name(language.getKey()).value(language.getValue());
+        }
+        out.endObject();
+        out.endObject();
+    }
+
+    @Override
+    public Languages read(JsonReader in) throws IOException {
+        Languages languages = new Languages();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (NAME_LANGS.equals(in.nextName())) {
+                LinkedHashMap<String, String> map = new LinkedHashMap<>();
+                in.beginObject();
+                while (in.hasNext()) map.put(in.nextName(), in.nextString());
+                in.endObject();
+                languages.setLanguages(map);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return languages;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.vladimirkondenko.yamblz.utils.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.vladimirkondenko.yamblz.model.entities.RealmString;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a response of the translate method without reflection.
+ */
+public class TranslationTypeAdapter extends TypeAdapter<Translation> {
+
+    private static final String NAME_CODE = "code";
+    private static final String NAME_LANG = "lang";
+    private static final String NAME_TEXT = "text";
+
+    @Override
+    public void write(JsonWriter out, Translation value) throws IOException {
+        out.beginObject();
+        out.name(NAME_CODE).value(value.getCode());
+        out.name(NAME_LANG).value(value.getDirection());
+        out.name(NAME_TEXT).beginArray();
+        if (value.getTranslatedText() != null) {
+            for (RealmString text : value.getTranslatedText()) out.value(text.getValue());
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public Translation read(JsonReader in) throws IOException {
+        Integer code = null;
+        String direction = "";
+        List<String> translatedText = new ArrayList<>(1);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME_CODE:
+                    code = in.nextInt();
+                    break;
+                case NAME_LANG:
+                    direction = in.nextString();
+                    break;
+                case NAME_TEXT:
+                    in.beginArray();
+                    while (in.hasNext()) translatedText.add(in.nextString());
+                    in.endArray();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Translation(code, direction, translatedText);
+    }
+
+}
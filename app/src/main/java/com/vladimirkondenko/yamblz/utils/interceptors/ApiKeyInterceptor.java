@@ -4,30 +4,80 @@ import java.io.IOException;
 
 import javax.inject.Inject;
 
+import okhttp3.FormBody;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
+import okhttp3.MediaType;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSink;
 
 import static com.vladimirkondenko.yamblz.Const.REQUEST_KEY_API_KEY;
 
 /**
  * Adds the API key to every request sent.
+ * The key is appended to form-encoded bodies as is,
+ * other requests get it as a query parameter.
  */
 public class ApiKeyInterceptor implements Interceptor {
 
     private String apiKey;
 
+    // Encoded once and written after the original body
+    private FormBody apiKeyBody;
+
     @Inject
     public ApiKeyInterceptor(String apiKey) {
         this.apiKey = apiKey;
+        this.apiKeyBody = new FormBody.Builder().add(REQUEST_KEY_API_KEY, apiKey).build();
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
         Request request = chain.request();
-        HttpUrl url = request.url().newBuilder().addQueryParameter(REQUEST_KEY_API_KEY, apiKey).build();
-        request = request.newBuilder().url(url).build();
+        RequestBody body = request.body();
+        if (body instanceof FormBody) {
+            request = request.newBuilder().method(request.method(), new KeyedFormBody((FormBody) body)).build();
+        } else {
+            HttpUrl url = request.url().newBuilder().addQueryParameter(REQUEST_KEY_API_KEY, apiKey).build();
+            request = request.newBuilder().url(url).build();
+        }
         return chain.proceed(request);
     }
+
+    /**
+     * Streams the original form body followed by the API key field.
+     */
+    private class KeyedFormBody extends RequestBody {
+
+        private final FormBody form;
+
+        KeyedFormBody(FormBody form) {
+            this.form = form;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return form.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return form.contentLength() + separatorLength() + apiKeyBody.contentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            form.writeTo(sink);
+            if (separatorLength() > 0) sink.writeByte('&');
+            apiKeyBody.writeTo(sink);
+        }
+
+        private int separatorLength() {
+            return form.size() > 0 ? 1 : 0;
+        }
+
+    }
+
 }
@@ -0,0 +1,67 @@
+package com.vladimirkondenko.yamblz.utils.schedulers;
+
+import android.os.Process;
+import android.util.Log;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * App-wide schedulers backed by bounded pools of named threads.
+ * <p>
+ * Tests get test schedulers from their Dagger modules instead, the standard RxJava hooks are left alone.
+ * The database thread is only used through {@link com.vladimirkondenko.yamblz.model.database.DatabaseExecutor}.
+ */
+public class AppSchedulers {
+
+    private static final String TAG = "AppSchedulers";
+
+    private static final int NETWORK_THREAD_COUNT = 4;
+
+    private final InstrumentedExecutor networkExecutor;
+    private final InstrumentedExecutor databaseExecutor;
+    private final InstrumentedExecutor computationExecutor;
+
+    private final Scheduler network;
+    private final Scheduler computation;
+
+    public AppSchedulers() {
+        networkExecutor = new InstrumentedExecutor("Network", NETWORK_THREAD_COUNT, Process.THREAD_PRIORITY_BACKGROUND);
+        // Realm instances are confined to a thread, so there's exactly one
+        databaseExecutor = new InstrumentedExecutor("Database", 1, Process.THREAD_PRIORITY_BACKGROUND);
+        computationExecutor = new InstrumentedExecutor(
+                "Computation",
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                Process.THREAD_PRIORITY_BACKGROUND
+        );
+        network = Schedulers.from(networkExecutor);
+        computation = Schedulers.from(computationExecutor);
+    }
+
+    public Scheduler network() {
+        return network;
+    }
+
+    public Scheduler computation() {
+        return computation;
+    }
+
+    public InstrumentedExecutor getNetworkExecutor() {
+        return networkExecutor;
+    }
+
+    public InstrumentedExecutor getDatabaseExecutor() {
+        return databaseExecutor;
+    }
+
+    public InstrumentedExecutor getComputationExecutor() {
+        return computationExecutor;
+    }
+
+    public void logMetrics() {
+        Log.i(TAG, networkExecutor.toString());
+        Log.i(TAG, databaseExecutor.toString());
+        Log.i(TAG, computationExecutor.toString());
+    }
+
+}
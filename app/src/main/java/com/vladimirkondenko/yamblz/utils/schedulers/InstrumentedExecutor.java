@@ -0,0 +1,117 @@
+package com.vladimirkondenko.yamblz.utils.schedulers;
+
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of named threads which measures its queue and task latencies.
+ * Idle threads are kept alive for a while, so bursts of short tasks
+ * like translations while typing don't create new threads.
+ */
+public class InstrumentedExecutor implements Executor {
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger createdThreadCount = new AtomicInteger();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+
+    public InstrumentedExecutor(String name, int threadCount, int threadPriority) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> new Thread(() -> {
+                    Process.setThreadPriority(threadPriority);
+                    runnable.run();
+                }, name + "-" + createdThreadCount.incrementAndGet())
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submittedAt = System.nanoTime();
+        executor.execute(() -> {
+            long startedAt = System.nanoTime();
+            recordWait(startedAt - submittedAt);
+            try {
+                task.run();
+            } finally {
+                totalRunNanos.addAndGet(System.nanoTime() - startedAt);
+                completedTaskCount.incrementAndGet();
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Number of tasks waiting for a free thread.
+     */
+    public int getQueueLength() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Number of threads created so far, stays flat while the pool is busy.
+     */
+    public int getCreatedThreadCount() {
+        return createdThreadCount.get();
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    public long getMeanWaitMicros() {
+        long completed = completedTaskCount.get();
+        return completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / completed);
+    }
+
+    public long getMaxWaitMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get());
+    }
+
+    public long getMeanRunMicros() {
+        long completed = completedTaskCount.get();
+        return completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalRunNanos.get() / completed);
+    }
+
+    @Override
+    public String toString() {
+        return name + "{queue=" + getQueueLength() + ", active=" + getActiveCount()
+                + ", threads created=" + getCreatedThreadCount() + ", completed=" + getCompletedTaskCount()
+                + ", mean wait=" + getMeanWaitMicros() + "us, max wait=" + getMaxWaitMicros()
+                + "us, mean run=" + getMeanRunMicros() + "us}";
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        long max;
+        do {
+            max = maxWaitNanos.get();
+        } while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+
+public class DatabaseExecutorTest {
+
+    private Queue<Runnable> tasks;
+
+    private DatabaseExecutor executor;
+
+    @Before
+    public void setUp() {
+        tasks = new ArrayDeque<>();
+        // Tasks are run manually and never touch the database
+        executor = new DatabaseExecutor(null, tasks::add);
+    }
+
+    @Test
+    public void shouldMeasureQueueDepth() {
+        executor.getScheduler().scheduleDirect(() -> {});
+        executor.getScheduler().scheduleDirect(() -> {});
+        assertEquals(2, executor.getQueueDepth());
+
+        tasks.poll().run();
+        assertEquals(1, executor.getQueueDepth());
+        tasks.poll().run();
+        assertEquals(0, executor.getQueueDepth());
+
+        assertEquals(2, executor.getMaxQueueDepth());
+        assertEquals(2, executor.getTaskCount());
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class TranslationMemoryCacheTest {
+
+    private static final String DIRECTION = "en-ru";
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() {
+        TranslationMemoryCache cache = new TranslationMemoryCache(2, Long.MAX_VALUE);
+        Translation first = translation("one", "один");
+        cache.put(first);
+        cache.put(translation("two", "два"));
+        cache.get("one", DIRECTION);
+        cache.put(translation("three", "три"));
+
+        assertSame(first, cache.get("one", DIRECTION));
+        assertNull(cache.get("two", DIRECTION));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldStayWithinByteLimit() {
+        Translation translation = translation("one", "один");
+        TranslationMemoryCache probe = new TranslationMemoryCache(Integer.MAX_VALUE, Long.MAX_VALUE);
+        probe.put(translation);
+        long entrySize = probe.getSizeBytes();
+
+        TranslationMemoryCache cache = new TranslationMemoryCache(Integer.MAX_VALUE, entrySize * 2);
+        cache.put(translation("one", "один"));
+        cache.put(translation("two", "два"));
+        cache.put(translation("six", "шесть"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("one", DIRECTION));
+    }
+
+    @Test
+    public void shouldFindAutoModeTranslationsByTargetLanguage() {
+        TranslationMemoryCache cache = new TranslationMemoryCache(2, Long.MAX_VALUE);
+        Translation translation = translation("one", "один");
+        cache.put("ru", translation);
+
+        assertSame(translation, cache.get("one", "ru"));
+        // Changing the flags of the translation in its own direction forgets the auto mode entry as well
+        cache.invalidate("one", DIRECTION);
+        assertNull(cache.get("one", "ru"));
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    @Test
+    public void shouldForgetInvalidatedEntries() {
+        TranslationMemoryCache cache = new TranslationMemoryCache(2, Long.MAX_VALUE);
+        cache.put(translation("one", "один"));
+        cache.invalidate("one", DIRECTION);
+        assertNull(cache.get("one", DIRECTION));
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    private static Translation translation(String inputText, String translatedText) {
+        Translation translation = new Translation(200, DIRECTION, Collections.singletonList(translatedText));
+        translation.setInputText(inputText);
+        return translation;
+    }
+
+}
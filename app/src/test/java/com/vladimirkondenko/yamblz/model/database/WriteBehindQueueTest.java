@@ -0,0 +1,52 @@
+package com.vladimirkondenko.yamblz.model.database;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.realm.Realm;
+
+import static org.junit.Assert.assertEquals;
+
+public class WriteBehindQueueTest {
+
+    private static final long DELAY_MS = 100;
+
+    private WriteBehindQueue queue;
+
+    @Before
+    public void setUp() {
+        // Nothing is ever applied, so no database is needed
+        DatabaseExecutor executor = new DatabaseExecutor(null, runnable -> {});
+        queue = new WriteBehindQueue(executor, DELAY_MS);
+    }
+
+    @Test
+    public void shouldMergeMutationsWithSameKey() {
+        queue.enqueue("bookmarked", new NoOpMutation());
+        queue.enqueue("bookmarked", new NoOpMutation());
+        queue.enqueue("bookmarked", new NoOpMutation());
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(2, queue.getMergedCount());
+    }
+
+    @Test
+    public void shouldKeepMutationsWithDifferentKeys() {
+        queue.enqueue("bookmarked", new NoOpMutation());
+        queue.enqueue("savedToHistory", new NoOpMutation());
+        assertEquals(2, queue.getPendingCount());
+        assertEquals(0, queue.getMergedCount());
+    }
+
+    private static final class NoOpMutation implements WriteBehindQueue.Mutation {
+
+        @Override
+        public void apply(Realm realm) {
+        }
+
+        @Override
+        public void onCommitted() {
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import org.junit.Test;
+
+import io.reactivex.Maybe;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FallbackLanguageDetectorTest {
+
+    private LanguageDetector primary = mock(LanguageDetector.class);
+    private LanguageDetector fallback = mock(LanguageDetector.class);
+
+    private FallbackLanguageDetector detector = new FallbackLanguageDetector(primary, fallback);
+
+    private Detection english = new Detection("en", 0.9);
+    private Detection german = new Detection("de", Detection.CERTAIN);
+
+    @Test
+    public void shouldNotAskFallbackWhenPrimaryIsSure() {
+        when(primary.detect("Hello")).thenReturn(Maybe.just(english));
+        when(fallback.detect("Hello")).thenReturn(Maybe.just(german));
+
+        detector.detect("Hello").test().assertValue(english);
+
+        verify(fallback, never()).detect("Hello");
+    }
+
+    @Test
+    public void shouldAskFallbackWhenPrimaryIsNotSure() {
+        when(primary.detect("Hallo")).thenReturn(Maybe.empty());
+        when(fallback.detect("Hallo")).thenReturn(Maybe.just(german));
+
+        detector.detect("Hallo").test().assertValue(german);
+    }
+
+}
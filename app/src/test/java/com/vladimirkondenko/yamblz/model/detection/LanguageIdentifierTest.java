@@ -0,0 +1,84 @@
+package com.vladimirkondenko.yamblz.model.detection;
+
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class LanguageIdentifierTest {
+
+    private LanguageIdentifier identifier;
+
+    @Before
+    public void setUp() throws IOException {
+        Reader reader = new InputStreamReader(RuntimeEnvironment.application.getResources().openRawResource(Const.LANGUAGE_PROFILES_RES), "UTF-8");
+        try {
+            identifier = new LanguageIdentifier(NgramProfile.readAll(reader));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void shouldIdentifyLanguagesOfTheSameScript() {
+        assertIdentified("en", "I think we should go home now");
+        assertIdentified("de", "Ich habe keine Zeit für dich heute");
+        assertIdentified("it", "Dove sono le chiavi della macchina?");
+        assertIdentified("ru", "Я не понимаю, что ты говоришь");
+        assertIdentified("uk", "Я не розумію, що ти кажеш");
+        assertIdentified("ar", "أنا لا أفهم ما تقول");
+    }
+
+    @Test
+    public void shouldIdentifyLanguagesByScript() {
+        assertEquals("ja", identifier.identify("私は日本語を勉強しています").getLang());
+        assertEquals("zh", identifier.identify("我不明白你在说什么").getLang());
+        assertEquals("ko", identifier.identify("무슨 말인지 모르겠어요").getLang());
+        assertEquals("el", identifier.identify("Δεν καταλαβαίνω τι λες").getLang());
+    }
+
+    @Test
+    public void shouldNotBeConfidentAboutShortText() {
+        assertTrue(identifier.identify("cat").getConfidence() < Const.DETECTION_MIN_CONFIDENCE);
+    }
+
+    @Test
+    public void shouldNotIdentifyTextWithoutLetters() {
+        assertNull(identifier.identify("42 + 7 = 49"));
+    }
+
+    @Test
+    public void shouldReadWrittenProfiles() throws IOException {
+        NgramProfile profile = NgramProfile.build("en", "the cat sat on the mat", 10);
+        StringWriter writer = new StringWriter();
+        profile.writeTo(writer);
+        List<NgramProfile> profiles = NgramProfile.readAll(new StringReader(writer.toString()));
+        assertEquals("en", profiles.get(0).getLang());
+        assertEquals(profile.size(), profiles.get(0).size());
+        // Ending "cat", "sat" and "mat"
+        assertEquals(0, profiles.get(0).getRank("at "));
+        assertEquals(-1, profiles.get(0).getRank("dog"));
+    }
+
+    private void assertIdentified(String lang, String text) {
+        LanguageIdentifier.Result result = identifier.identify(text);
+        assertEquals(lang, result.getLang());
+        assertTrue(text, result.getConfidence() >= Const.DETECTION_MIN_CONFIDENCE);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.vladimirkondenko.yamblz.model.entities;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LanguagesTest {
+
+    private Languages languages;
+
+    @Before
+    public void setUp() {
+        LinkedHashMap<String, String> map = new LinkedHashMap<>();
+        map.put("en", "English");
+        languages = new Languages();
+        languages.setLanguages(map);
+    }
+
+    @Test
+    public void shouldBeWritableUntilMadeReadOnly() {
+        languages.getLanguages().put("ru", "Russian");
+
+        assertFalse(languages.isReadOnly());
+        assertEquals(2, languages.getLanguages().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotChangeReadOnlyLanguages() {
+        languages.makeReadOnly().getLanguages().put("ru", "Russian");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotReplaceReadOnlyLanguages() {
+        languages.makeReadOnly().setLanguages(new LinkedHashMap<String, String>());
+    }
+
+    @Test
+    public void shouldEqualWritableCopy() {
+        Languages copy = new Languages();
+        copy.setLanguages(new LinkedHashMap<>(languages.getLanguages()));
+
+        assertTrue(languages.makeReadOnly().isReadOnly());
+        assertEquals(copy, languages);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.vladimirkondenko.yamblz.model.network;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class BatchingTranslationServiceTest {
+
+    private static final String DIRECTION = "en-ru";
+    private static final long WINDOW_MS = 30;
+
+    @Mock
+    public NetTranslationService netService;
+
+    private TestScheduler scheduler;
+
+    private BatchingTranslationService service;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        scheduler = new TestScheduler();
+        service = new BatchingTranslationService(netService, scheduler, WINDOW_MS, 3, 100);
+    }
+
+    @Test
+    public void shouldCoalesceTextsWithinWindow() {
+        when(netService.getTranslations(Arrays.asList("one", "two"), DIRECTION))
+                .thenReturn(Single.just(new Translation(200, DIRECTION, Arrays.asList("один", "два"))));
+        TestObserver<Translation> first = service.getTranslation("one", DIRECTION).test();
+        TestObserver<Translation> second = service.getTranslation("two", DIRECTION).test();
+        verify(netService, never()).getTranslations(anyList(), anyString());
+
+        scheduler.advanceTimeBy(WINDOW_MS, TimeUnit.MILLISECONDS);
+
+        verify(netService, times(1)).getTranslations(anyList(), anyString());
+        assertEquals("один", first.values().get(0).getTranslatedText().get(0).getValue());
+        assertEquals("два", second.values().get(0).getTranslatedText().get(0).getValue());
+    }
+
+    @Test
+    public void shouldSendFullBatchImmediately() {
+        when(netService.getTranslations(anyList(), eq(DIRECTION)))
+                .thenReturn(Single.just(new Translation(200, DIRECTION, Arrays.asList("a", "b", "c"))));
+        service.getTranslation("a", DIRECTION).test();
+        service.getTranslation("b", DIRECTION).test();
+        service.getTranslation("c", DIRECTION).test();
+        scheduler.triggerActions();
+        verify(netService, times(1)).getTranslations(Arrays.asList("a", "b", "c"), DIRECTION);
+    }
+
+    @Test
+    public void shouldNotMixDirections() {
+        when(netService.getTranslations(anyList(), anyString()))
+                .thenReturn(Single.just(new Translation(200, DIRECTION, Arrays.asList("a"))));
+        service.getTranslation("a", "en-ru").test();
+        service.getTranslation("a", "en-de").test();
+        scheduler.advanceTimeBy(WINDOW_MS, TimeUnit.MILLISECONDS);
+        verify(netService, times(1)).getTranslations(Arrays.asList("a"), "en-ru");
+        verify(netService, times(1)).getTranslations(Arrays.asList("a"), "en-de");
+    }
+
+    @Test
+    public void shouldDropCancelledTexts() {
+        when(netService.getTranslations(anyList(), anyString()))
+                .thenReturn(Single.just(new Translation(200, DIRECTION, Arrays.asList("b"))));
+        service.getTranslation("a", DIRECTION).test().dispose();
+        TestObserver<Translation> observer = service.getTranslation("b", DIRECTION).test();
+        scheduler.advanceTimeBy(WINDOW_MS, TimeUnit.MILLISECONDS);
+        verify(netService).getTranslations(Arrays.asList("b"), DIRECTION);
+        observer.assertValueCount(1);
+    }
+
+    @Test
+    public void shouldFailAllCallersOnSizeMismatch() {
+        when(netService.getTranslations(anyList(), anyString()))
+                .thenReturn(Single.just(new Translation(200, DIRECTION, Arrays.asList("a"))));
+        TestObserver<Translation> first = service.getTranslation("a", DIRECTION).test();
+        TestObserver<Translation> second = service.getTranslation("b", DIRECTION).test();
+        scheduler.advanceTimeBy(WINDOW_MS, TimeUnit.MILLISECONDS);
+        first.assertError(IllegalStateException.class);
+        second.assertError(IllegalStateException.class);
+    }
+
+}
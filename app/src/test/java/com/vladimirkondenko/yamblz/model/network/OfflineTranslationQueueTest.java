@@ -0,0 +1,186 @@
+package com.vladimirkondenko.yamblz.model.network;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsWriter;
+import com.vladimirkondenko.yamblz.model.entities.PendingTranslation;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.utils.RxNetworkBroadcastReceiver;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class OfflineTranslationQueueTest {
+
+    @Mock
+    public NetTranslationService netService;
+
+    @Mock
+    public DbPendingTranslationsService pendingService;
+
+    @Mock
+    public DbTranslationCacheService cacheService;
+
+    @Mock
+    public SavedTranslationsWriter savedWriter;
+
+    @Mock
+    public RxNetworkBroadcastReceiver networkReceiver;
+
+    private OfflineTranslationQueue queue;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(pendingService.remove(anyList())).thenReturn(Completable.complete());
+        queue = new OfflineTranslationQueue(netService, pendingService, cacheService, savedWriter, networkReceiver, Schedulers.trampoline(), 2, 10, 2);
+    }
+
+    @Test
+    public void shouldGroupByDirectionWithinLimits() {
+        List<List<PendingTranslation>> batches = queue.createBatches(Arrays.asList(
+                pending("one", "en-ru"),
+                pending("hallo", "de-ru"),
+                pending("two", "en-ru"),
+                pending("three", "en-ru"),
+                pending("привет", "en"),
+                pending("здравствуй", "en")
+        ));
+
+        assertEquals(5, batches.size());
+        assertTexts(batches.get(0), "one", "two");
+        assertTexts(batches.get(1), "three");
+        assertTexts(batches.get(2), "hallo");
+        // Detected languages are sent one by one
+        assertTexts(batches.get(3), "привет");
+        assertTexts(batches.get(4), "здравствуй");
+    }
+
+    @Test
+    public void shouldSplitBatchesByLength() {
+        List<List<PendingTranslation>> batches = queue.createBatches(Arrays.asList(
+                pending("12345678", "en-ru"),
+                pending("123", "en-ru")
+        ));
+
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    public void shouldCacheAndSaveResults() {
+        List<PendingTranslation> translations = Arrays.asList(pending("one", "en-ru"), pending("two", "en-ru"));
+        when(pendingService.getAll()).thenReturn(Single.just(translations));
+        when(netService.getTranslations(Arrays.asList("one", "two"), "en-ru"))
+                .thenReturn(Single.just(new Translation(200, "en-ru", Arrays.asList("один", "два"))));
+
+        queue.drain().test().assertComplete();
+
+        verify(netService, times(1)).getTranslations(anyList(), anyString());
+        verify(cacheService).put(eq("one"), any(Translation.class));
+        verify(cacheService).put(eq("two"), any(Translation.class));
+        verify(savedWriter, times(2)).setSavedToHistory(any(Translation.class), eq(true), anyLong());
+        verify(pendingService).remove(translations);
+        assertEquals(1, queue.getSentRequestCount());
+        assertEquals(2, queue.getTranslatedCount());
+    }
+
+    @Test
+    public void shouldKeepFailedTranslations() {
+        List<PendingTranslation> failed = Collections.singletonList(pending("one", "en-ru"));
+        List<PendingTranslation> sent = Collections.singletonList(pending("hallo", "de-ru"));
+        when(pendingService.getAll()).thenReturn(Single.just(Arrays.asList(failed.get(0), sent.get(0))));
+        when(netService.getTranslations(Collections.singletonList("one"), "en-ru"))
+                .thenReturn(Single.error(new IOException("Offline")));
+        when(netService.getTranslations(Collections.singletonList("hallo"), "de-ru"))
+                .thenReturn(Single.just(new Translation(200, "de-ru", Collections.singletonList("привет"))));
+
+        queue.drain().test().assertComplete();
+
+        verify(pendingService, never()).remove(failed);
+        verify(pendingService).remove(sent);
+    }
+
+    @Test
+    public void shouldKeepTranslationsOnMismatchedResponse() {
+        List<PendingTranslation> translations = Arrays.asList(pending("one", "en-ru"), pending("two", "en-ru"));
+        when(pendingService.getAll()).thenReturn(Single.just(translations));
+        when(netService.getTranslations(anyList(), anyString()))
+                .thenReturn(Single.just(new Translation(200, "en-ru", Collections.singletonList("один"))));
+
+        queue.drain().test().assertComplete();
+
+        verify(savedWriter, never()).setSavedToHistory(any(Translation.class), anyBoolean(), anyLong());
+        verify(pendingService, never()).remove(anyList());
+    }
+
+    @Test
+    public void shouldDrainAgainIfRequestedWhileDraining() {
+        PublishSubject<List<PendingTranslation>> firstPass = PublishSubject.create();
+        List<PendingTranslation> queuedMeanwhile = Collections.singletonList(pending("one", "en-ru"));
+        when(pendingService.getAll()).thenReturn(firstPass.firstOrError(), Single.just(queuedMeanwhile));
+        when(netService.getTranslations(Collections.singletonList("one"), "en-ru"))
+                .thenReturn(Single.just(new Translation(200, "en-ru", Collections.singletonList("один"))));
+
+        TestObserver<Void> runningDrain = queue.drain().test();
+        queue.drain().test().assertComplete();
+        firstPass.onNext(Collections.<PendingTranslation>emptyList());
+
+        runningDrain.assertComplete();
+        verify(pendingService, times(2)).getAll();
+        verify(pendingService).remove(queuedMeanwhile);
+
+        // Nothing was requested during the second pass
+        queue.drain().test().assertComplete();
+        verify(pendingService, times(3)).getAll();
+    }
+
+    @Test
+    public void shouldSurviveNetworkStateErrors() {
+        when(networkReceiver.isOnline()).thenReturn(false);
+        when(networkReceiver.register()).thenReturn(Observable.<Boolean>error(new IllegalStateException("Unregistered")));
+
+        queue.start();
+
+        verify(pendingService, never()).getAll();
+    }
+
+    private static PendingTranslation pending(String text, String direction) {
+        return new PendingTranslation(text, direction, 0);
+    }
+
+    private static void assertTexts(List<PendingTranslation> batch, String... texts) {
+        assertEquals(texts.length, batch.size());
+        for (int i = 0; i < texts.length; i++) assertEquals(texts[i], batch.get(i).getInputText());
+    }
+
+}
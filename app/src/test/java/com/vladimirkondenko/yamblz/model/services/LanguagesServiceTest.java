@@ -1,17 +1,15 @@
 package com.vladimirkondenko.yamblz.model.services;
 
 import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
-import com.vladimirkondenko.yamblz.R;
 import com.vladimirkondenko.yamblz.TestApp;
+import com.vladimirkondenko.yamblz.TestUtils;
 import com.vladimirkondenko.yamblz.dagger.modules.TestServiceModule;
 import com.vladimirkondenko.yamblz.model.entities.Languages;
-import com.vladimirkondenko.yamblz.utils.Utils;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.robolectric.RuntimeEnvironment;
 
 import java.io.IOException;
 
@@ -43,7 +41,7 @@ public class LanguagesServiceTest {
 
     @Test
     public void shouldReturnLanguages() {
-        String json = Utils.getJsonFromRawResources(RuntimeEnvironment.application.getBaseContext(), R.raw.input_languages_ru);
+        String json = TestUtils.getJsonFromTestAssets("input_languages_ru.json");
         server.enqueue(new MockResponse().setBody(json));
         TestObserver<Languages> testObserver = TestObserver.create();
         service.getAvailableLanguages("ru").subscribe(testObserver);
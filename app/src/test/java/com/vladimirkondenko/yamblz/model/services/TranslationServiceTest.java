@@ -1,5 +1,6 @@
 package com.vladimirkondenko.yamblz.model.services;
 
+import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
 import com.vladimirkondenko.yamblz.TestApp;
 import com.vladimirkondenko.yamblz.TestUtils;
@@ -11,11 +12,17 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.net.URLDecoder;
+
 import javax.inject.Inject;
 
 import io.reactivex.observers.TestObserver;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 @RunWith(CustomRobolectricTestRunner.class)
 public class TranslationServiceTest {
@@ -49,4 +56,24 @@ public class TranslationServiceTest {
         observer.assertNoErrors();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSendLongTextInBody() throws Exception {
+        StringBuilder builder = new StringBuilder(Const.MAX_TEXT_LENGTH);
+        for (int i = 0; i < Const.MAX_TEXT_LENGTH; i++) builder.append('я');
+        String text = builder.toString();
+        String direction = "ru-en";
+        server.enqueue(new MockResponse().setBody(TestUtils.getJsonFromTestAssets("translation_en_ru_success.json")));
+
+        TestObserver<Translation> observer = TestObserver.create();
+        service.getTranslation(text, direction).subscribe(observer);
+        observer.assertNoErrors();
+
+        RecordedRequest request = server.takeRequest();
+        String path = request.getPath();
+        assertEquals("/translate?" + NetTranslationService.KEY_LANG + "=" + direction, path);
+        assertFalse(path.contains(NetTranslationService.KEY_TEXT + "="));
+        String body = URLDecoder.decode(request.getBody().readUtf8(), "UTF-8");
+        assertEquals(NetTranslationService.KEY_TEXT + "=" + text, body);
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.vladimirkondenko.yamblz.screens.main;
+
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.RxRule;
+import com.vladimirkondenko.yamblz.TestApp;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.model.services.DbLanguageCatalogService;
+import com.vladimirkondenko.yamblz.model.services.DbLanguagesService;
+import com.vladimirkondenko.yamblz.model.services.NetLanguagesService;
+import com.vladimirkondenko.yamblz.utils.BundledLanguages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageIndexCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class MainInteractorTest {
+
+    @Rule
+    public RxRule rxRule = new RxRule();
+
+    @Mock
+    public NetLanguagesService netService;
+
+    @Mock
+    public DbLanguagesService dbService;
+
+    @Mock
+    public DbLanguageCatalogService catalogService;
+
+    @Mock
+    public BundledLanguages bundledLanguages;
+
+    private LanguageIndexCache indexCache;
+    private MainInteractor interactor;
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ENGLISH);
+        when(catalogService.get(anyString())).thenReturn(Maybe.empty());
+        when(bundledLanguages.get(anyString())).thenReturn(languages(0, "en", "English"));
+        indexCache = new LanguageIndexCache();
+        interactor = new MainInteractor(bundledLanguages, netService, dbService, catalogService, indexCache, TestApp.get().getTestAppComponent().getSchedulers());
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void shouldNotRefreshFreshLanguages() {
+        Languages stored = languages(System.currentTimeMillis(), "en", "English");
+        when(catalogService.get(Const.LANG_CODE_EN)).thenReturn(Maybe.just(stored));
+
+        assertLanguages(interactor.getLanguages().test(), stored);
+
+        verify(netService, never()).getAvailableLanguages(anyString());
+    }
+
+    @Test
+    public void shouldRefreshStaleLanguages() {
+        Languages stored = languages(staleFetchTime(), "en", "English");
+        Languages fetched = languages(0, "en", "English", "fr", "French");
+        when(catalogService.get(Const.LANG_CODE_EN)).thenReturn(Maybe.just(stored));
+        when(netService.getAvailableLanguages(Const.LANG_CODE_EN)).thenReturn(Single.just(fetched));
+
+        assertLanguages(interactor.getLanguages().test(), stored, fetched);
+
+        verify(catalogService).put(fetched);
+    }
+
+    @Test
+    public void shouldNotEmitUnchangedLanguages() {
+        Languages stored = languages(staleFetchTime(), "en", "English");
+        Languages fetched = languages(0, "en", "English");
+        when(catalogService.get(Const.LANG_CODE_EN)).thenReturn(Maybe.just(stored));
+        when(netService.getAvailableLanguages(Const.LANG_CODE_EN)).thenReturn(Single.just(fetched));
+
+        assertLanguages(interactor.getLanguages().test(), stored);
+
+        // The fetch time is still updated
+        verify(catalogService).put(fetched);
+    }
+
+    @Test
+    public void shouldKeepBundledOrderOfUnchangedLanguages() {
+        // Sorted at build time, where the collator may disagree with the device one
+        when(bundledLanguages.get(anyString())).thenReturn(languages(0, "fr", "French", "en", "English"));
+        Languages fetched = languages(0, "en", "English", "fr", "French");
+        when(netService.getAvailableLanguages(Const.LANG_CODE_EN)).thenReturn(Single.just(fetched));
+
+        interactor.getLanguages().test().assertValueCount(1);
+
+        verify(catalogService).put(fetched);
+        assertEquals(Arrays.asList("fr", "en"), new ArrayList<>(fetched.getLanguages().keySet()));
+    }
+
+    @Test
+    public void shouldServeStoredLanguagesOffline() {
+        Languages stored = languages(staleFetchTime(), "en", "English");
+        when(catalogService.get(Const.LANG_CODE_EN)).thenReturn(Maybe.just(stored));
+        when(netService.getAvailableLanguages(Const.LANG_CODE_EN)).thenReturn(Single.error(new IllegalStateException("Offline")));
+
+        assertLanguages(interactor.getLanguages().test(), stored);
+
+        verify(catalogService, never()).put(any(Languages.class));
+    }
+
+    @Test
+    public void shouldServeBundledLanguagesFirst() {
+        Languages fetched = languages(0, "en", "English", "fr", "French");
+        when(netService.getAvailableLanguages(Const.LANG_CODE_EN)).thenReturn(Single.just(fetched));
+
+        assertLanguages(interactor.getLanguages().test(), bundledLanguages.get(Const.LANG_CODE_EN), fetched);
+        // Only the fetched languages are sorted, the bundled ones already are
+        assertEquals(1, indexCache.getCreatedCount());
+    }
+
+    @Test
+    public void shouldReuseIndexOfUnchangedLanguages() {
+        when(catalogService.get(Const.LANG_CODE_EN)).thenReturn(Maybe.just(languages(System.currentTimeMillis(), "en", "English")));
+
+        LanguageIndex first = interactor.getLanguages().test().values().get(0);
+        LanguageIndex second = interactor.getLanguages().test().values().get(0);
+
+        assertSame(first, second);
+        assertEquals(1, indexCache.getCreatedCount());
+    }
+
+    private static void assertLanguages(TestObserver<LanguageIndex> observer, Languages... expected) {
+        observer.assertComplete();
+        observer.assertValueCount(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(observer.values().get(i).matches(expected[i]));
+        }
+    }
+
+    private static long staleFetchTime() {
+        return System.currentTimeMillis() - Const.LANGUAGES_TTL_MS - 1;
+    }
+
+    private static Languages languages(long fetchedAt, String... codesAndNames) {
+        LinkedHashMap<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < codesAndNames.length; i += 2) map.put(codesAndNames[i], codesAndNames[i + 1]);
+        Languages languages = new Languages();
+        languages.setLanguages(map);
+        languages.setUserLanguageCode(Const.LANG_CODE_EN);
+        languages.setFetchedAt(fetchedAt);
+        return languages;
+    }
+
+}
@@ -2,12 +2,14 @@ package com.vladimirkondenko.yamblz.screens.main;
 
 import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
-import com.vladimirkondenko.yamblz.R;
 import com.vladimirkondenko.yamblz.RxRule;
 import com.vladimirkondenko.yamblz.TestApp;
+import com.vladimirkondenko.yamblz.TestUtils;
 import com.vladimirkondenko.yamblz.dagger.modules.TestMainModule;
 import com.vladimirkondenko.yamblz.model.entities.Languages;
-import com.vladimirkondenko.yamblz.utils.LanguageUtils;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageIndexCache;
+import com.vladimirkondenko.yamblz.utils.LanguageSearchIndex;
 
 import org.junit.After;
 import org.junit.Before;
@@ -16,18 +18,23 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.robolectric.RuntimeEnvironment;
 
 import java.io.IOException;
 
 import javax.inject.Inject;
 
+import io.reactivex.Observable;
 import io.reactivex.Single;
 
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -89,18 +96,58 @@ public class MainPresenterTest {
     @Test
     public void shouldFetchLanguages() {
         String locale = Const.LANG_CODE_EN;
-        when(interactor.getLanguages()).thenReturn(Single.just(getLanguages(locale)));
+        when(interactor.getLanguages()).thenReturn(Observable.just(LanguageIndex.create(getLanguages(locale))));
         presenter.getLanguagesList();
-        verify(view).onLoadLanguages(any(Languages.class));
+        verify(view).onLoadLanguages(any(LanguageIndex.class));
     }
 
-    private Languages getLanguages(String locale) {
-        Languages langs = LanguageUtils.getLangsFromRawRes(
-                RuntimeEnvironment.application.getApplicationContext(),
-                Const.LANG_CODE_RU.equals(locale) ? R.raw.input_languages_ru : R.raw.input_languages_en
+    @Test
+    public void shouldOnlyReloadChangedLanguages() {
+        LanguageIndexCache cache = new LanguageIndexCache();
+        LanguageIndex stored = cache.get(getLanguages(Const.LANG_CODE_EN));
+        LanguageIndex unchanged = cache.get(getLanguages(Const.LANG_CODE_EN));
+        Languages changed = getLanguages(Const.LANG_CODE_EN);
+        changed.getLanguages().put("xx", "Xx");
+        LanguageIndex refreshed = cache.get(changed);
+        when(interactor.getLanguages()).thenReturn(
+                Observable.just(stored, unchanged, refreshed),
+                Observable.just(refreshed)
         );
-        langs.setUserLanguageCode(locale);
-        return langs;
+
+        // Resumed twice, the second time with the languages already shown
+        presenter.getLanguagesList();
+        presenter.getLanguagesList();
+
+        verify(view, times(2)).onLoadLanguages(any(LanguageIndex.class));
+        verify(view).onLoadLanguages(refreshed);
+    }
+
+    @Test
+    public void shouldOpenLanguagePickerBeforeUsageIsRead() {
+        LanguageIndex languages = LanguageIndex.create(getLanguages(Const.LANG_CODE_EN));
+        LanguageSearchIndex searchIndex = languages.getSearchIndex();
+        int[] usage = new int[languages.size()];
+        when(interactor.getLanguages()).thenReturn(Observable.just(languages));
+        when(interactor.getSearchIndex(languages)).thenReturn(Single.just(searchIndex));
+        when(interactor.getLanguageUsage(searchIndex)).thenReturn(Single.just(usage));
+
+        presenter.getLanguagesList();
+        presenter.pickLanguage(true);
+
+        InOrder inOrder = inOrder(view);
+        inOrder.verify(view).onShowLanguagePicker(true, searchIndex);
+        inOrder.verify(view).onLoadLanguageUsage(usage);
+    }
+
+    @Test
+    public void shouldNotOpenLanguagePickerWithoutLanguages() {
+        presenter.pickLanguage(false);
+
+        verify(view, never()).onShowLanguagePicker(anyBoolean(), any(LanguageSearchIndex.class));
+    }
+
+    private Languages getLanguages(String locale) {
+        return TestUtils.getLanguages(locale);
     }
 
 
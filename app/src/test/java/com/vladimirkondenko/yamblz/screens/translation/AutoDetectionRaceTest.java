@@ -0,0 +1,181 @@
+package com.vladimirkondenko.yamblz.screens.translation;
+
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.RxRule;
+import com.vladimirkondenko.yamblz.TestUtils;
+import com.vladimirkondenko.yamblz.model.detection.Detection;
+import com.vladimirkondenko.yamblz.model.detection.LanguageDetector;
+import com.vladimirkondenko.yamblz.model.detection.NetLanguageDetector;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.utils.AdaptiveDebouncer;
+import com.vladimirkondenko.yamblz.utils.TextSegmenter;
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Maybe;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the time to the first auto mode translation with and without detection
+ * against a server which takes longer to translate text without a source language.
+ */
+@RunWith(CustomRobolectricTestRunner.class)
+public class AutoDetectionRaceTest {
+
+    private static final String TEXT = "Hello, world!";
+    private static final String TARGET_LANG = "ru";
+
+    private static final long DETECT_LATENCY_MS = 50;
+    private static final long TRANSLATE_LATENCY_MS = 150;
+    private static final long UNDIRECTED_TRANSLATE_LATENCY_MS = 800;
+    // Well below the difference of the latencies, so a slow machine doesn't fail the test
+    private static final long MIN_SAVED_TIME_MS = 300;
+
+    @Rule
+    public RxRule rxRule = new RxRule();
+
+    @Mock
+    public DbSavedTranslationsService dbService;
+
+    @Mock
+    public DbTranslationCacheService cacheService;
+
+    @Mock
+    public DbPendingTranslationsService pendingService;
+
+    private MockWebServer server;
+    private NetTranslationService netService;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        when(dbService.getIfSaved(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(cacheService.get(anyString(), anyString())).thenReturn(Maybe.empty());
+        String translation = TestUtils.getJsonFromTestAssets("translation_en_ru_success.json");
+        String detection = TestUtils.getJsonFromTestAssets("detect_en_success.json");
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if (path.startsWith("/detect")) return respond(detection, DETECT_LATENCY_MS);
+                if (path.endsWith(NetTranslationService.KEY_LANG + "=" + TARGET_LANG)) {
+                    return respond(translation, UNDIRECTED_TRANSLATE_LATENCY_MS);
+                }
+                return respond(translation, TRANSLATE_LATENCY_MS);
+            }
+        });
+        server.start();
+        // Requests have to run concurrently for one to overtake the other
+        netService = new Retrofit.Builder()
+                .baseUrl(server.url(""))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.createAsync())
+                .addConverterFactory(GsonConverterFactory.create(ApiGson.create()))
+                .build()
+                .create(NetTranslationService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void shouldTranslateFromLanguageDetectedOnDevice() {
+        long timeWithoutDetection = translate(createInteractor(text -> Maybe.empty()));
+        TranslationInteractor interactor = createInteractor(text -> Maybe.just(new Detection("en", 0.9)));
+
+        long time = translate(interactor);
+
+        assertTrue(time + MIN_SAVED_TIME_MS < timeWithoutDetection);
+        assertEquals(1, interactor.getDetectedFirstCount());
+    }
+
+    @Test
+    public void shouldTranslateFromLanguageDetectedByApi() {
+        long timeWithoutDetection = translate(createInteractor(text -> Maybe.empty()));
+        TranslationInteractor interactor = createInteractor(new NetLanguageDetector(netService));
+
+        long time = translate(interactor);
+
+        assertTrue(time + MIN_SAVED_TIME_MS < timeWithoutDetection);
+        assertEquals(1, interactor.getDetectedFirstCount());
+    }
+
+    @Test
+    public void shouldLeaveDetectionToApiWhenUnsure() {
+        TranslationInteractor interactor = createInteractor(text -> Maybe.empty());
+
+        long time = translate(interactor);
+
+        assertTrue(time >= UNDIRECTED_TRANSLATE_LATENCY_MS);
+        assertEquals(1, interactor.getTranslatedFirstCount());
+    }
+
+    @Test
+    public void shouldNotSwitchDirectionOnUnsureDetection() {
+        double confidence = (Const.DETECTION_MIN_CONFIDENCE + Const.DETECTION_RACE_MIN_CONFIDENCE) / 2;
+        TranslationInteractor interactor = createInteractor(text -> Maybe.just(new Detection("en", confidence)));
+
+        long time = translate(interactor);
+
+        assertTrue(time >= UNDIRECTED_TRANSLATE_LATENCY_MS);
+        assertEquals(1, interactor.getTranslatedFirstCount());
+        assertEquals(0, interactor.getDetectedFirstCount());
+    }
+
+    private long translate(TranslationInteractor interactor) {
+        long start = System.nanoTime();
+        TestObserver<Translation> observer = interactor.translate(Const.LANG_CODE_AUTO, TARGET_LANG, TEXT).test();
+        observer.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        observer.assertNoErrors();
+        observer.assertValueCount(1);
+        return time;
+    }
+
+    private TranslationInteractor createInteractor(LanguageDetector detector) {
+        return new TranslationInteractor(
+                netService,
+                dbService,
+                cacheService,
+                pendingService,
+                new AdaptiveDebouncer(Schedulers.trampoline(), 0, 0, 0),
+                new TextSegmenter(Const.SEGMENT_MAX_LENGTH),
+                new TranslationDocument(),
+                detector
+        );
+    }
+
+    private static MockResponse respond(String body, long latencyMs) {
+        return new MockResponse().setBody(body).setBodyDelay(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+}
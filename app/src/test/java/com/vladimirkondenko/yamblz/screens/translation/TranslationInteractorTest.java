@@ -0,0 +1,257 @@
+package com.vladimirkondenko.yamblz.screens.translation;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.RxRule;
+import com.vladimirkondenko.yamblz.model.detection.LanguageDetector;
+import com.vladimirkondenko.yamblz.model.entities.CachedTranslation;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
+import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.utils.AdaptiveDebouncer;
+import com.vladimirkondenko.yamblz.utils.TextSegmenter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class TranslationInteractorTest {
+
+    private static final int SEGMENT_MAX_LENGTH = 20;
+
+    @Rule
+    public RxRule rxRule = new RxRule();
+
+    @Mock
+    public NetTranslationService netService;
+
+    @Mock
+    public DbSavedTranslationsService dbService;
+
+    @Mock
+    public DbTranslationCacheService cacheService;
+
+    @Mock
+    public DbPendingTranslationsService pendingService;
+
+    @Mock
+    public LanguageDetector detector;
+
+    private TranslationInteractor interactor;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(dbService.getIfSaved(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(cacheService.get(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(pendingService.add(anyString(), anyString())).thenReturn(Completable.complete());
+        when(pendingService.remove(anyString(), anyString())).thenReturn(Completable.complete());
+        when(detector.detect(anyString())).thenReturn(Maybe.empty());
+        interactor = new TranslationInteractor(netService, dbService, cacheService, pendingService, new AdaptiveDebouncer(Schedulers.trampoline(), 0, 0, 0), new TextSegmenter(SEGMENT_MAX_LENGTH), new TranslationDocument(), detector);
+    }
+
+    @Test
+    public void shouldShareIdenticalInFlightRequests() {
+        PublishSubject<Translation> response = PublishSubject.create();
+        when(netService.getTranslation("Hello", "en-ru")).thenReturn(response.singleOrError());
+
+        TestObserver<Translation> first = interactor.translate("en", "ru", "Hello").test();
+        TestObserver<Translation> second = interactor.translate("en", "ru", " Hello ").test();
+
+        Translation translation = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        response.onNext(translation);
+        response.onComplete();
+
+        first.assertValue(translation);
+        second.assertValue(translation);
+        verify(netService, times(1)).getTranslation(anyString(), anyString());
+        verify(dbService, times(1)).setInputText(translation, "Hello");
+        assertEquals(1, interactor.getSavedRequestCount());
+    }
+
+    @Test
+    public void shouldNotShareFinishedRequests() {
+        Translation translation = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        when(netService.getTranslation("Hello", "en-ru")).thenReturn(Single.just(translation));
+
+        interactor.translate("en", "ru", "Hello").test().assertValue(translation);
+        interactor.translate("en", "ru", "Hello").test().assertValue(translation);
+
+        verify(netService, times(2)).getTranslation(anyString(), anyString());
+        assertEquals(0, interactor.getSavedRequestCount());
+    }
+
+    @Test
+    public void shouldCacheNetworkResponses() {
+        Translation translation = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        when(netService.getTranslation("Hello", "en-ru")).thenReturn(Single.just(translation));
+
+        interactor.translate("en", "ru", "Hello").test().assertValue(translation);
+
+        verify(cacheService, times(1)).put("Hello", translation);
+    }
+
+    @Test
+    public void shouldServeCachedResponsesOffline() {
+        Translation translation = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        when(cacheService.get("Hello", "en-ru")).thenReturn(Maybe.just(translation));
+        when(netService.getTranslation(anyString(), anyString())).thenReturn(Single.error(new IllegalStateException("Offline")));
+
+        interactor.translate("en", "ru", "Hello").test().assertValue(translation);
+
+        verify(cacheService, never()).put(anyString(), any(Translation.class));
+    }
+
+    @Test
+    public void shouldReplaceTextQueuedWhileEditing() {
+        interactor.translateLater("en", "ru", "Hel");
+        interactor.translateLater("en", "ru", "Hello");
+        interactor.finishEditing();
+        interactor.translateLater("en", "ru", "World");
+
+        verify(pendingService).add("Hel", "en-ru");
+        verify(pendingService).remove("Hel", "en-ru");
+        verify(pendingService).add("Hello", "en-ru");
+        verify(pendingService).add("World", "en-ru");
+        verify(pendingService, never()).remove("Hello", "en-ru");
+    }
+
+    @Test
+    public void shouldDequeueTranslatedText() {
+        Translation translation = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        when(netService.getTranslation("Hello", "en-ru")).thenReturn(Single.just(translation));
+
+        interactor.translateLater("en", "ru", "Hello");
+        interactor.translate("en", "ru", "Hello").test().assertValue(translation);
+
+        verify(pendingService).remove("Hello", "en-ru");
+    }
+
+    @Test
+    public void shouldTranslateLongTextInSegments() {
+        String text = "First sentence. Second one.\nThird paragraph.";
+        when(netService.getTranslation("First sentence.", "en-ru")).thenReturn(translation("Первое предложение."));
+        when(netService.getTranslation("Second one.", "en-ru")).thenReturn(translation("Второе."));
+        when(netService.getTranslation("Third paragraph.", "en-ru")).thenReturn(translation("Третий абзац."));
+
+        Translation result = interactor.translate("en", "ru", text).test().values().get(0);
+
+        assertEquals("Первое предложение. Второе.\nТретий абзац.", result.getTranslatedText().get(0).getValue());
+        verify(cacheService).put(eq("Second one."), any(Translation.class));
+        verify(cacheService).put(eq(text), any(Translation.class));
+    }
+
+    @Test
+    public void shouldReuseCachedSegments() {
+        String text = "First sentence. Second one.\nThird paragraph.";
+        when(cacheService.get("First sentence.", "en-ru")).thenReturn(translation("Первое предложение.").toMaybe());
+        when(cacheService.get("Third paragraph.", "en-ru")).thenReturn(translation("Третий абзац.").toMaybe());
+        when(netService.getTranslation("Second one.", "en-ru")).thenReturn(translation("Второе."));
+
+        interactor.translate("en", "ru", text).test().assertNoErrors();
+
+        verify(netService, times(1)).getTranslation(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldOnlySendEditedSentences() {
+        when(netService.getTranslation("First.", "en-ru")).thenReturn(translation("Первое."));
+        when(netService.getTranslation("Second.", "en-ru")).thenReturn(translation("Второе."));
+        when(netService.getTranslation("Third.", "en-ru")).thenReturn(translation("Третье."));
+
+        interactor.translate("en", "ru", "First. Second.").test().assertNoErrors();
+        Translation result = interactor.translate("en", "ru", "First. Third.").test().values().get(0);
+
+        assertEquals("Первое. Третье.", result.getTranslatedText().get(0).getValue());
+        verify(netService, times(1)).getTranslation("First.", "en-ru");
+        verify(netService, times(1)).getTranslation("Third.", "en-ru");
+        assertEquals(1, interactor.getDocument().getReusedCount());
+    }
+
+    @Test
+    public void shouldNotReuseSentencesAfterDirectionChange() {
+        when(netService.getTranslation(anyString(), anyString())).thenReturn(translation("Перевод."));
+
+        interactor.translate("en", "ru", "First. Second.").test().assertNoErrors();
+        interactor.translate("en", "uk", "First. Second.").test().assertNoErrors();
+
+        verify(netService, times(1)).getTranslation("First.", "en-uk");
+        assertEquals(0, interactor.getDocument().getReusedCount());
+    }
+
+    @Test
+    public void shouldCacheAutoModeTranslationsByTargetLanguage() {
+        MapTranslationCache cache = new MapTranslationCache();
+        TranslationInteractor interactor = new TranslationInteractor(netService, dbService, cache, pendingService, new AdaptiveDebouncer(Schedulers.trampoline(), 0, 0, 0), new TextSegmenter(SEGMENT_MAX_LENGTH), new TranslationDocument(), detector);
+        Translation translation = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        when(netService.getTranslation("Hello", "ru")).thenReturn(Single.just(translation));
+
+        interactor.translate(Const.LANG_CODE_AUTO, "ru", "Hello").test().assertNoErrors();
+        Translation cached = interactor.translate(Const.LANG_CODE_AUTO, "ru", "Hello").test().values().get(0);
+
+        verify(netService, times(1)).getTranslation(anyString(), anyString());
+        assertEquals("en-ru", cached.getDirection());
+        // Also found when translated from the detected language
+        interactor.translate("en", "ru", "Hello").test().assertValueCount(1);
+        verify(netService, times(1)).getTranslation(anyString(), anyString());
+    }
+
+    private static Single<Translation> translation(String text) {
+        return Single.just(new Translation(200, "en-ru", Collections.singletonList(text)));
+    }
+
+    // Keeps translations in memory by the key the Realm cache uses
+    private static final class MapTranslationCache implements DbTranslationCacheService {
+
+        private final Map<String, Translation> translations = new HashMap<>();
+
+        @Override
+        public Maybe<Translation> get(String inputText, String direction) {
+            Translation translation = translations.get(CachedTranslation.createKey(inputText, direction));
+            return translation == null ? Maybe.<Translation>empty() : Maybe.just(translation);
+        }
+
+        @Override
+        public void put(String inputText, Translation translation) {
+            put(inputText, translation.getDirection(), translation);
+        }
+
+        @Override
+        public void put(String inputText, String direction, Translation translation) {
+            translations.put(CachedTranslation.createKey(inputText, direction), translation);
+        }
+
+        @Override
+        public Completable compact() {
+            return Completable.complete();
+        }
+
+    }
+
+}
@@ -13,14 +13,20 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 import javax.inject.Inject;
 
 import io.reactivex.Single;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -60,4 +66,47 @@ public class TranslationPresenterTest {
         verify(view, never()).onError(any(Throwable.class), anyInt());
     }
 
+    @Test
+    public void shouldOnlyDeliverLatestRequest() {
+        TranslationInteractor mockInteractor = mock(TranslationInteractor.class);
+        TranslationPresenter presenter = createPresenter(mockInteractor);
+        PublishSubject<Translation> slowResponse = PublishSubject.create();
+        Translation first = new Translation(200, "en-ru", Collections.singletonList("Прив"));
+        Translation second = new Translation(200, "en-ru", Collections.singletonList("Привет"));
+        when(mockInteractor.translate("en", "ru", "Hel")).thenReturn(slowResponse.singleOrError());
+        when(mockInteractor.translate("en", "ru", "Hello")).thenReturn(Single.just(second));
+
+        presenter.onInputTextChange("Hel", true);
+        presenter.onInputTextChange("Hello", true);
+        // The first response arrives after the second one, it must not replace it
+        slowResponse.onNext(first);
+        slowResponse.onComplete();
+
+        verify(view).onTranslationSuccess(second);
+        verify(view, never()).onTranslationSuccess(first);
+    }
+
+    @Test
+    public void shouldDisposeAndCountSupersededRequest() {
+        TranslationInteractor mockInteractor = mock(TranslationInteractor.class);
+        TranslationPresenter presenter = createPresenter(mockInteractor);
+        PublishSubject<Translation> slowResponse = PublishSubject.create();
+        when(mockInteractor.translate("en", "ru", "Hel")).thenReturn(slowResponse.singleOrError());
+        when(mockInteractor.translate("en", "ru", "Hello")).thenReturn(Single.just(new Translation(200, "en-ru", Collections.singletonList("Привет"))));
+
+        presenter.onInputTextChange("Hel", true);
+        presenter.onInputTextChange("Hello", true);
+
+        assertFalse(slowResponse.hasObservers());
+        assertEquals(1, presenter.getCancelledRequestCount());
+    }
+
+    private TranslationPresenter createPresenter(TranslationInteractor interactor) {
+        TranslationPresenter presenter = new TranslationPresenter(view, interactor);
+        presenter.onCreateView();
+        presenter.selectInputLanguage("en");
+        presenter.selectOutputLanguage("ru");
+        return presenter;
+    }
+
 }
\ No newline at end of file
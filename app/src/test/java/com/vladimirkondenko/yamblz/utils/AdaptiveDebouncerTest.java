@@ -0,0 +1,183 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.RxRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Simulates a user typing several phrases on virtual time
+ * and compares the adaptive debouncer with the fixed 225 ms one.
+ */
+public class AdaptiveDebouncerTest {
+
+    private static final long FAST_ROUND_TRIP_MS = 60;
+    private static final long SLOW_ROUND_TRIP_MS = 700;
+
+    private static final String[] PHRASE = {"hello", "world", "how", "are", "you"};
+    private static final int PHRASE_COUNT = 6;
+    private static final long KEYSTROKE_INTERVAL_MS = 110;
+    private static final long WORD_PAUSE_MS = 300;
+    private static final long PHRASE_PAUSE_MS = 3000;
+
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Rule
+    public RxRule rxRule = new RxRule(scheduler);
+
+    @Test
+    public void shouldStayWithinBounds() {
+        AdaptiveDebouncer debouncer = new AdaptiveDebouncer(AndroidSchedulers.mainThread(), 100, 800, 225);
+        assertEquals(225, debouncer.getQuietPeriod());
+        debouncer.recordRoundTrip(10_000);
+        assertEquals(800, debouncer.getQuietPeriod());
+    }
+
+    @Test
+    public void shouldNotBeWorseOnFastNetwork() {
+        Result fixed = simulate(FAST_ROUND_TRIP_MS, false);
+        Result adaptive = simulate(FAST_ROUND_TRIP_MS, true);
+        assertTrue(adaptive.requestsPerTranslation() <= fixed.requestsPerTranslation());
+        assertTrue(adaptive.meanTimeToResult() < fixed.meanTimeToResult());
+    }
+
+    @Test
+    public void shouldSendFewerRequestsOnSlowNetwork() {
+        Result fixed = simulate(SLOW_ROUND_TRIP_MS, false);
+        Result adaptive = simulate(SLOW_ROUND_TRIP_MS, true);
+        assertTrue(adaptive.requestsPerTranslation() < fixed.requestsPerTranslation());
+        assertTrue(adaptive.meanTimeToResult() <= fixed.meanTimeToResult());
+    }
+
+    private Result simulate(long roundTripMs, boolean adaptive) {
+        Scheduler mainThread = AndroidSchedulers.mainThread();
+        AdaptiveDebouncer debouncer = new AdaptiveDebouncer(mainThread, Const.DEBOUNCE_MIN_MS, Const.DEBOUNCE_MAX_MS, Const.DEBOUNCE_INITIAL_MS);
+        ObservableTransformer<String, String> debounce = adaptive
+                ? debouncer.debounce()
+                : upstream -> upstream.debounce(Const.DEBOUNCE_INITIAL_MS, TimeUnit.MILLISECONDS, mainThread);
+        SimulatedNetwork network = new SimulatedNetwork(roundTripMs);
+        List<Long> resultTimes = new ArrayList<>();
+        // Stale results of unfinished phrases don't count
+        String fullText = join(PHRASE);
+
+        PublishSubject<String> keystrokes = PublishSubject.create();
+        keystrokes.compose(debounce)
+                .switchMap(text -> network.translate(text).compose(debouncer.trackRoundTrip()).toObservable())
+                .filter(text -> text.equals(fullText))
+                .subscribe(text -> resultTimes.add(scheduler.now(TimeUnit.MILLISECONDS)));
+
+        List<Long> phraseEndTimes = new ArrayList<>();
+        Scheduler.Worker worker = scheduler.createWorker();
+        long time = 0;
+        for (int i = 0; i < PHRASE_COUNT; i++) {
+            StringBuilder text = new StringBuilder();
+            for (String word : PHRASE) {
+                for (char c : word.toCharArray()) {
+                    String input = text.append(c).toString();
+                    worker.schedule(() -> keystrokes.onNext(input), time, TimeUnit.MILLISECONDS);
+                    time += KEYSTROKE_INTERVAL_MS;
+                }
+                text.append(' ');
+                time += WORD_PAUSE_MS - KEYSTROKE_INTERVAL_MS;
+            }
+            phraseEndTimes.add(time - WORD_PAUSE_MS);
+            time += PHRASE_PAUSE_MS;
+        }
+        scheduler.advanceTimeTo(time, TimeUnit.MILLISECONDS);
+
+        long totalTimeToResult = 0;
+        for (long phraseEnd : phraseEndTimes) {
+            for (long resultTime : resultTimes) {
+                if (resultTime > phraseEnd) {
+                    totalTimeToResult += resultTime - phraseEnd;
+                    break;
+                }
+            }
+        }
+        return new Result(network.requestCount, PHRASE_COUNT, totalTimeToResult / PHRASE_COUNT);
+    }
+
+    private static String join(String[] words) {
+        StringBuilder builder = new StringBuilder();
+        for (String word : words) {
+            if (builder.length() > 0) builder.append(' ');
+            builder.append(word);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Cancelling a call in flight closes its HTTP/1.1 connection,
+     * so the next request has to pay for a new handshake.
+     */
+    private static final class SimulatedNetwork {
+
+        private static final int HANDSHAKE_ROUND_TRIPS = 2;
+
+        private final long roundTripMs;
+
+        private boolean isConnected = true;
+        private int requestCount = 0;
+
+        SimulatedNetwork(long roundTripMs) {
+            this.roundTripMs = roundTripMs;
+        }
+
+        Single<String> translate(String text) {
+            return Single.defer(() -> {
+                requestCount++;
+                long latency = isConnected ? roundTripMs : roundTripMs * (1 + HANDSHAKE_ROUND_TRIPS);
+                AtomicBoolean finished = new AtomicBoolean(false);
+                return Single.timer(latency, TimeUnit.MILLISECONDS)
+                        .map(tick -> text)
+                        .doOnSuccess(result -> {
+                            finished.set(true);
+                            isConnected = true;
+                        })
+                        .doOnDispose(() -> {
+                            if (!finished.get()) isConnected = false;
+                        });
+            });
+        }
+
+    }
+
+    private static final class Result {
+
+        private final int requests;
+        private final int translations;
+        private final long meanTimeToResult;
+
+        Result(int requests, int translations, long meanTimeToResult) {
+            this.requests = requests;
+            this.translations = translations;
+            this.meanTimeToResult = meanTimeToResult;
+        }
+
+        double requestsPerTranslation() {
+            return (double) requests / translations;
+        }
+
+        long meanTimeToResult() {
+            return meanTimeToResult;
+        }
+
+    }
+
+}
@@ -11,12 +11,14 @@ import org.junit.runner.RunWith;
 
 import javax.inject.Inject;
 
+import okhttp3.FormBody;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(CustomRobolectricTestRunner.class)
@@ -57,4 +59,24 @@ public class ApiKeyInterceptorTest {
         assertTrue(path.contains(apiKey));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void checkApiKeyGetsAppendedToFormBody() throws Exception {
+        String apiKey = "API-KEY-EXAMPLE";
+        ApiKeyInterceptor interceptor = new ApiKeyInterceptor(apiKey);
+
+        client = client.newBuilder().addInterceptor(interceptor).build();
+
+        server.enqueue(new MockResponse());
+        client.newCall(new Request.Builder()
+                .url(server.url("/"))
+                .post(new FormBody.Builder().add("text", "Hello").build())
+                .build()
+        ).execute();
+
+        RecordedRequest request = server.takeRequest();
+
+        assertEquals("/", request.getPath());
+        assertEquals("text=Hello&key=" + apiKey, request.getBody().readUtf8());
+    }
+
+}
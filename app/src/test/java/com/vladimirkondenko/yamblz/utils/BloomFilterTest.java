@@ -0,0 +1,69 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BloomFilterTest {
+
+    private static final int ENTRIES = 10000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void shouldNeverMissAddedValues() {
+        BloomFilter filter = filled();
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(filter.mightContain(saved(i)));
+        }
+    }
+
+    @Test
+    public void shouldKeepFalsePositiveRateNearTarget() {
+        BloomFilter filter = filled();
+        int probes = 100000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("en-ru\nnew text " + i)) falsePositives++;
+        }
+        double observedRate = (double) falsePositives / probes;
+        assertTrue("Observed rate " + observedRate, observedRate < 2 * FALSE_POSITIVE_RATE);
+        assertEquals(FALSE_POSITIVE_RATE, filter.getExpectedFalsePositiveRate(), FALSE_POSITIVE_RATE / 2);
+    }
+
+    @Test
+    public void shouldSurviveSerialization() throws Exception {
+        BloomFilter filter = filled();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        BloomFilter restored = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(filter.getInsertionCount(), restored.getInsertionCount());
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(restored.mightContain(saved(i)));
+        }
+    }
+
+    @Test
+    public void shouldBeEmptyInitially() {
+        BloomFilter filter = new BloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        assertFalse(filter.mightContain(saved(0)));
+        assertEquals(0, filter.getExpectedFalsePositiveRate(), 0);
+    }
+
+    private static BloomFilter filled() {
+        BloomFilter filter = new BloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ENTRIES; i++) filter.put(saved(i));
+        return filter;
+    }
+
+    private static String saved(int i) {
+        return "en-ru\nsaved text " + i;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.TestUtils;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class LanguageIndexTest {
+
+    @Test
+    public void shouldSortByNameInLanguageOfLocale() {
+        LanguageIndex index = LanguageIndex.create(languages("fr", "zu", "Zoulou", "ee", "Éwé", "es", "Espagnol"));
+
+        // Accented letters go with the plain ones rather than after z
+        assertEquals(Arrays.asList("es", "ee", "zu"), codes(index));
+        assertEquals("Éwé", index.getName(1));
+    }
+
+    @Test
+    public void shouldSortCyrillicNames() {
+        LanguageIndex index = LanguageIndex.create(languages("ru", "el", "Греческий", "en", "Английский", "et", "Эстонский", "uk", "Украинский"));
+
+        assertEquals(Arrays.asList("en", "el", "uk", "et"), codes(index));
+    }
+
+    @Test
+    public void shouldFindPositionsByCode() {
+        LanguageIndex index = LanguageIndex.create(TestUtils.getLanguages("en"));
+
+        for (int i = 0; i < index.size(); i++) {
+            assertEquals(i, index.getPosition(index.getCode(i)));
+        }
+        assertEquals(-1, index.getPosition("xx"));
+    }
+
+    @Test
+    public void shouldMatchSameLanguagesInAnyOrder() {
+        LanguageIndex index = LanguageIndex.create(languages("en", "de", "German", "en", "English"));
+
+        assertTrue(index.matches(languages("en", "en", "English", "de", "German")));
+        assertFalse(index.matches(languages("en", "en", "English", "de", "Deutsch")));
+        assertFalse(index.matches(languages("en", "en", "English")));
+        assertFalse(index.matches(languages("ru", "en", "English", "de", "German")));
+    }
+
+    @Test
+    public void shouldOnlySortChangedLanguages() {
+        LanguageIndexCache cache = new LanguageIndexCache();
+
+        LanguageIndex first = cache.get(TestUtils.getLanguages("ru"));
+        LanguageIndex second = cache.get(TestUtils.getLanguages("ru"));
+        Languages changed = TestUtils.getLanguages("ru");
+        changed.getLanguages().put("xx", "Новый");
+        LanguageIndex third = cache.get(changed);
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(2, cache.getCreatedCount());
+    }
+
+    @Test
+    public void shouldKeepOrderOfSortedLanguages() {
+        LanguageIndex index = LanguageIndex.fromSorted(languages("en", "zu", "Zulu", "de", "German"));
+
+        assertEquals(Arrays.asList("zu", "de"), codes(index));
+        assertEquals(1, index.getPosition("de"));
+    }
+
+    @Test
+    public void shouldNotSortSortedLanguagesAgain() {
+        LanguageIndexCache cache = new LanguageIndexCache();
+        Languages languages = TestUtils.getLanguages("ru");
+        languages.setLanguages(LanguageIndex.create(languages).toMap());
+
+        cache.putSorted(languages);
+        LanguageIndex index = cache.get(TestUtils.getLanguages("ru"));
+
+        assertEquals(new ArrayList<>(languages.getLanguages().keySet()), codes(index));
+        assertEquals(0, cache.getCreatedCount());
+    }
+
+    private static Languages languages(String userLanguageCode, String... codesAndNames) {
+        LinkedHashMap<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < codesAndNames.length; i += 2) map.put(codesAndNames[i], codesAndNames[i + 1]);
+        Languages languages = new Languages();
+        languages.setLanguages(map);
+        languages.setUserLanguageCode(userLanguageCode);
+        return languages;
+    }
+
+    private static List<String> codes(LanguageIndex index) {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < index.size(); i++) codes.add(index.getCode(i));
+        return codes;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.TestUtils;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class LanguageSearchIndexTest {
+
+    private LanguageSearchIndex en;
+    private LanguageSearchIndex ru;
+
+    @Before
+    public void setUp() {
+        en = LanguageIndex.create(TestUtils.getLanguages("en")).getSearchIndex();
+        ru = LanguageIndex.create(TestUtils.getLanguages("ru")).getSearchIndex();
+    }
+
+    @Test
+    public void shouldRankExactCodeBeforeNames() {
+        assertEquals(Arrays.asList("es", "eo", "et"), search(en, "es"));
+    }
+
+    @Test
+    public void shouldFindAnyWordOfName() {
+        assertEquals(Collections.singletonList("gd"), search(en, "gaelic"));
+        assertEquals(Collections.singletonList("gd"), search(ru, "гэль"));
+        assertEquals(Collections.singletonList("mrj"), search(en, "hill m"));
+    }
+
+    @Test
+    public void shouldIgnoreCaseAccentsAndSpaces() {
+        LanguageSearchIndex index = LanguageIndex.create(languages("fr", "ee", "Éwé", "es", "Espagnol")).getSearchIndex();
+
+        assertEquals(Collections.singletonList("ee"), search(index, "EWE"));
+        assertEquals(Collections.singletonList("es"), search(index, "  espa"));
+    }
+
+    @Test
+    public void shouldFindNativeNames() {
+        assertEquals(Collections.singletonList("de"), search(en, "deutsch"));
+        assertEquals(Collections.singletonList("fr"), search(ru, "fran"));
+    }
+
+    @Test
+    public void shouldRankUsedLanguagesHigher() {
+        Map<String, Integer> usage = new HashMap<>();
+        usage.put("sv", 3);
+        usage.put("et", 10);
+
+        List<String> languages = search(en, "s", usage);
+
+        assertEquals("sv", languages.get(0));
+        // Usage only ranks languages matched equally well
+        assertEquals("es", search(en, "es", usage).get(0));
+        assertEquals(Arrays.asList("et", "sv"), search(en, "", usage).subList(0, 2));
+    }
+
+    @Test
+    public void shouldFindEveryLanguageByEmptyQuery() {
+        int[] positions = en.search("", new int[en.getLanguages().size()]);
+
+        assertEquals(en.getLanguages().size(), positions.length);
+        for (int i = 0; i < positions.length; i++) assertEquals(i, positions[i]);
+    }
+
+    @Test
+    public void shouldFindNothingByUnknownQuery() {
+        assertArrayEquals(new int[0], en.search("xyz", new int[en.getLanguages().size()]));
+    }
+
+    @Test
+    public void shouldBuildSearchIndexOnce() {
+        LanguageIndex index = LanguageIndex.create(TestUtils.getLanguages("en"));
+
+        assertSame(index.getSearchIndex(), index.getSearchIndex());
+    }
+
+    private static List<String> search(LanguageSearchIndex index, String query) {
+        return search(index, query, Collections.<String, Integer>emptyMap());
+    }
+
+    private static List<String> search(LanguageSearchIndex index, String query, Map<String, Integer> usage) {
+        List<String> codes = new ArrayList<>();
+        for (int position : index.search(query, index.getUsage(usage))) codes.add(index.getLanguages().getCode(position));
+        return codes;
+    }
+
+    private static Languages languages(String userLanguageCode, String... codesAndNames) {
+        LinkedHashMap<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < codesAndNames.length; i += 2) map.put(codesAndNames[i], codesAndNames[i + 1]);
+        Languages languages = new Languages();
+        languages.setLanguages(map);
+        languages.setUserLanguageCode(userLanguageCode);
+        return languages;
+    }
+
+}
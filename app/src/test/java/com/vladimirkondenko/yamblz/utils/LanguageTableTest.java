@@ -0,0 +1,41 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.TestUtils;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class LanguageTableTest {
+
+    @Test
+    public void shouldKeepLanguagesInOrder() throws IOException {
+        Languages languages = TestUtils.getLanguages("ru");
+        languages.setLanguages(LanguageIndex.create(languages).toMap());
+        languages.setFetchedAt(1234);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        LanguageTable.write(languages, out);
+        Languages read = LanguageTable.read(new ByteArrayInputStream(out.toByteArray()), "ru");
+
+        assertEquals(languages.getLanguages(), read.getLanguages());
+        assertEquals(new ArrayList<>(languages.getLanguages().keySet()), new ArrayList<>(read.getLanguages().keySet()));
+        assertEquals("ru", read.getUserLanguageCode());
+        assertEquals(1234, read.getFetchedAt());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherFiles() throws IOException {
+        LanguageTable.read(new ByteArrayInputStream("{\"langs\":{}}".getBytes("UTF-8")), "en");
+    }
+
+}
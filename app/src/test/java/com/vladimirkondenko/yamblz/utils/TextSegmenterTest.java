@@ -0,0 +1,100 @@
+package com.vladimirkondenko.yamblz.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TextSegmenterTest {
+
+    @Test
+    public void shouldKeepShortTextWhole() {
+        List<TextSegmenter.Segment> segments = new TextSegmenter(100).split("First sentence. Second one.\nThird paragraph.");
+        assertEquals(1, segments.size());
+        assertEquals("First sentence. Second one.\nThird paragraph.", segments.get(0).getText());
+    }
+
+    @Test
+    public void shouldSplitParagraphsAndSentences() {
+        List<TextSegmenter.Segment> segments = new TextSegmenter(20).split("First sentence. Second one.\n\nThird paragraph.");
+        assertEquals(3, segments.size());
+        assertSegment(segments.get(0), "First sentence.", " ");
+        assertSegment(segments.get(1), "Second one.", "\n\n");
+        assertSegment(segments.get(2), "Third paragraph.", "");
+    }
+
+    @Test
+    public void shouldNotMergeParagraphs() {
+        List<TextSegmenter.Segment> segments = new TextSegmenter(20).split("One.\nTwo.\nThree.\nFour.\nFive.");
+        assertEquals(5, segments.size());
+    }
+
+    @Test
+    public void shouldSplitShortTextIntoSentences() {
+        List<TextSegmenter.Segment> segments = new TextSegmenter(100).splitSentences("First sentence. Second one.\nThird paragraph.");
+        assertEquals(3, segments.size());
+        assertSegment(segments.get(0), "First sentence.", " ");
+        assertSegment(segments.get(1), "Second one.", "\n");
+        assertSegment(segments.get(2), "Third paragraph.", "");
+    }
+
+    @Test
+    public void shouldCutLongSentencesAtWhitespace() {
+        List<TextSegmenter.Segment> segments = new TextSegmenter(10).split("aaaa bbbb cccc dddd");
+        assertSegment(segments.get(0), "aaaa bbbb", " ");
+        assertSegment(segments.get(1), "cccc dddd", "");
+    }
+
+    @Test
+    public void shouldNotSplitSurrogatePairs() {
+        String text = "aaaa😀bbbbbb";
+        List<TextSegmenter.Segment> segments = new TextSegmenter(5).split(text);
+        for (TextSegmenter.Segment segment : segments) {
+            assertTrue(!Character.isHighSurrogate(segment.getText().charAt(segment.getText().length() - 1)));
+        }
+        assertEquals(text, join(segments));
+    }
+
+    @Test
+    public void shouldJoinBackIntoOriginalText() {
+        String[] words = {"Hello", "world.", "Why?", "Yes!", "\n", "\n\n", "  ", "averyveryverylongwordwithoutspaces", "😀"};
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            int maxLength = 5 + random.nextInt(50);
+            StringBuilder builder = new StringBuilder();
+            int wordCount = random.nextInt(60);
+            for (int j = 0; j < wordCount; j++) {
+                builder.append(words[random.nextInt(words.length)]);
+                if (random.nextBoolean()) builder.append(' ');
+            }
+            String text = builder.toString().trim();
+            TextSegmenter segmenter = new TextSegmenter(maxLength);
+            assertJoinsBack(text, maxLength, segmenter.split(text));
+            assertJoinsBack(text, maxLength, segmenter.splitSentences(text));
+        }
+    }
+
+    private static void assertJoinsBack(String text, int maxLength, List<TextSegmenter.Segment> segments) {
+        for (TextSegmenter.Segment segment : segments) {
+            assertTrue(segment.getText().length() <= maxLength);
+            assertEquals(segment.getText().trim(), segment.getText());
+            assertEquals("", segment.getSeparator().trim());
+        }
+        assertEquals(text, join(segments));
+    }
+
+    private static void assertSegment(TextSegmenter.Segment segment, String text, String separator) {
+        assertEquals(text, segment.getText());
+        assertEquals(separator, segment.getSeparator());
+    }
+
+    private static String join(List<TextSegmenter.Segment> segments) {
+        StringBuilder builder = new StringBuilder();
+        for (TextSegmenter.Segment segment : segments) builder.append(segment.getText()).append(segment.getSeparator());
+        return builder.toString();
+    }
+
+}
@@ -2,28 +2,33 @@ package com.vladimirkondenko.yamblz.utils;
 
 import org.junit.Test;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 
 public class UtilsTest {
 
     @Test
-    public void shouldSortByValue() throws Exception {
-        LinkedHashMap<String, String> initialMap = new LinkedHashMap<>();
-        initialMap.put("en", "English");
-        initialMap.put("es", "Spanish");
-        initialMap.put("fr", "French");
-
-        LinkedHashMap actualSortedMap = Utils.sortByValues(initialMap);
-
-        LinkedHashMap<String, String> expectedSortedMap = new LinkedHashMap<>();
-        expectedSortedMap.put("en", "English");
-        expectedSortedMap.put("fr", "French");
-        expectedSortedMap.put("es", "Spanish");
+    public void shouldNotCollideOnMillionInputs() throws Exception {
+        String[] directions = {"en-ru", "ru-en", "en-de", "de-en"};
+        int count = 1_000_000;
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = Utils.hash64("synthetic input " + i, directions[i % directions.length]);
+        }
+        Arrays.sort(ids);
+        int collisions = 0;
+        for (int i = 1; i < count; i++) {
+            if (ids[i] == ids[i - 1]) collisions++;
+        }
+        assertThat(collisions, equalTo(0));
+    }
 
-        assertThat(actualSortedMap, equalTo(expectedSortedMap));
+    @Test
+    public void shouldSeparateHashedStrings() throws Exception {
+        assertNotEquals(Utils.hash64("ab", "c"), Utils.hash64("a", "bc"));
     }
 
 }
\ No newline at end of file
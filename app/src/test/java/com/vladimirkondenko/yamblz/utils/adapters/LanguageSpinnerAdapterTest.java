@@ -0,0 +1,93 @@
+package com.vladimirkondenko.yamblz.utils.adapters;
+
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.ListView;
+import android.widget.TextView;
+
+import com.vladimirkondenko.yamblz.Const;
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.R;
+import com.vladimirkondenko.yamblz.TestUtils;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class LanguageSpinnerAdapterTest {
+
+    // Rows which fit in the list at once
+    private static final int VISIBLE_ROW_COUNT = 8;
+    private static final int WIDTH = 480;
+
+    private LanguageIndex languages;
+    private LanguageSpinnerAdapter adapter;
+    private FrameLayout parent;
+
+    @Before
+    public void setUp() {
+        languages = LanguageIndex.create(TestUtils.getLanguages(Const.LANG_CODE_EN));
+        adapter = new LanguageSpinnerAdapter(RuntimeEnvironment.application, true);
+        adapter.setLangs(languages);
+        parent = new FrameLayout(RuntimeEnvironment.application);
+    }
+
+    @Test
+    public void shouldOnlyInflateVisibleRowsWhileScrolling() {
+        int rowHeight = RuntimeEnvironment.application.getResources().getDimensionPixelSize(R.dimen.height_all_list_item);
+        int height = rowHeight * VISIBLE_ROW_COUNT;
+        ListView list = new ListView(RuntimeEnvironment.application);
+        list.setAdapter(adapter);
+        layout(list, height);
+
+        // Scrolled to the end a row at a time, then back to the start
+        for (int position = 0; position < adapter.getCount(); position++) {
+            list.scrollListBy(rowHeight);
+            layout(list, height);
+        }
+        int lastVisiblePosition = list.getLastVisiblePosition();
+        list.setSelection(0);
+        layout(list, height);
+
+        // The rows on the screen, with the ones partly visible at both edges
+        assertTrue(adapter.getInflatedViewCount() <= VISIBLE_ROW_COUNT + 2);
+        assertEquals(adapter.getCount() - 1, lastVisiblePosition);
+        assertEquals(adapter.getItemValue(0), ((TextView) list.getChildAt(0)).getText().toString());
+    }
+
+    @Test
+    public void shouldShowDetectLanguageFirst() {
+        TextView row = (TextView) adapter.getView(0, null, parent);
+
+        assertEquals(RuntimeEnvironment.application.getString(R.string.main_detect_language), row.getText().toString());
+        assertEquals(Const.LANG_CODE_AUTO, adapter.getItem(0));
+        assertEquals(languages.size() + 1, adapter.getCount());
+    }
+
+    @Test
+    public void shouldFindPositionsByCode() {
+        LanguageSpinnerAdapter outputAdapter = new LanguageSpinnerAdapter(RuntimeEnvironment.application, false);
+        outputAdapter.setLangs(languages);
+
+        assertEquals(languages.getPosition(Const.LANG_CODE_RU) + 1, adapter.getItemPosition(Const.LANG_CODE_RU));
+        assertEquals(languages.getPosition(Const.LANG_CODE_RU), outputAdapter.getItemPosition(Const.LANG_CODE_RU));
+        assertEquals(0, adapter.getItemPosition(Const.LANG_CODE_AUTO));
+        assertEquals(-1, outputAdapter.getItemPosition(Const.LANG_CODE_AUTO));
+        assertEquals(Const.LANG_CODE_RU, adapter.getItem(adapter.getItemPosition(Const.LANG_CODE_RU)));
+    }
+
+    private static void layout(View view, int height) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY)
+        );
+        view.layout(0, 0, WIDTH, height);
+    }
+
+}
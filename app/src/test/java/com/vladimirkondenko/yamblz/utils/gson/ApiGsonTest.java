@@ -0,0 +1,70 @@
+package com.vladimirkondenko.yamblz.utils.gson;
+
+import com.google.gson.Gson;
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+import com.vladimirkondenko.yamblz.TestUtils;
+import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.RealmGson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class ApiGsonTest {
+
+    private Gson gson = ApiGson.create();
+    private Gson reflectiveGson = RealmGson.create();
+
+    @Test
+    public void shouldDecodeTranslation() {
+        String json = TestUtils.getJsonFromTestAssets("translation_en_ru_success.json");
+        Translation translation = gson.fromJson(json, Translation.class);
+        Translation reflectiveTranslation = reflectiveGson.fromJson(json, Translation.class);
+        assertEquals(reflectiveTranslation.getCode(), translation.getCode());
+        assertEquals(reflectiveTranslation.getDirection(), translation.getDirection());
+        assertEquals(reflectiveTranslation.getFormattedTranslatedText(), translation.getFormattedTranslatedText());
+    }
+
+    @Test
+    public void shouldDecodeLanguages() {
+        String json = TestUtils.getJsonFromTestAssets("languages_en_success.json");
+        Languages languages = gson.fromJson(json, Languages.class);
+        Languages reflectiveLanguages = reflectiveGson.fromJson(json, Languages.class);
+        assertEquals(reflectiveLanguages.getLanguages(), languages.getLanguages());
+    }
+
+    @Test
+    public void shouldDecodeDetectedLanguage() {
+        String json = TestUtils.getJsonFromTestAssets("detect_en_success.json");
+        DetectedLanguage language = gson.fromJson(json, DetectedLanguage.class);
+        assertEquals("200", language.code);
+        assertEquals("en", language.lang);
+    }
+
+    @Test
+    public void shouldSkipUnknownFields() {
+        String json = "{\"code\":200,\"extra\":{\"nested\":[1,2]},\"lang\":\"en-ru\",\"text\":[\"Привет\"]}";
+        Translation translation = gson.fromJson(json, Translation.class);
+        assertEquals("en-ru", translation.getDirection());
+        assertEquals("Привет\n", translation.getFormattedTranslatedText());
+    }
+
+    @Test
+    public void shouldRoundTrip() {
+        String json = TestUtils.getJsonFromTestAssets("translation_en_ru_success.json");
+        Translation translation = gson.fromJson(gson.toJson(gson.fromJson(json, Translation.class)), Translation.class);
+        assertEquals("en-ru", translation.getDirection());
+        assertEquals("Привет, мир!\n", translation.getFormattedTranslatedText());
+    }
+
+    @Test
+    public void shouldDecodeNull() {
+        assertNull(gson.fromJson("null", Translation.class));
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.vladimirkondenko.yamblz.utils.schedulers;
+
+import android.os.Process;
+
+import com.vladimirkondenko.yamblz.CustomRobolectricTestRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(CustomRobolectricTestRunner.class)
+public class InstrumentedExecutorTest {
+
+    private static final int THREAD_COUNT = 2;
+    private static final int TASK_COUNT = 1000;
+
+    @Test
+    public void shouldReuseThreadsUnderLoad() throws InterruptedException {
+        InstrumentedExecutor executor = new InstrumentedExecutor("Test", THREAD_COUNT, Process.THREAD_PRIORITY_BACKGROUND);
+        CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            executor.execute(latch::countDown);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        assertTrue(executor.getCreatedThreadCount() <= THREAD_COUNT);
+        assertTrue(executor.getMaxWaitMicros() >= executor.getMeanWaitMicros());
+        // The latch is counted down before the task is recorded as completed
+        long deadline = System.currentTimeMillis() + 1000;
+        while (executor.getCompletedTaskCount() < TASK_COUNT && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(TASK_COUNT, executor.getCompletedTaskCount());
+    }
+
+}
@@ -11,21 +11,31 @@ import io.reactivex.schedulers.Schedulers;
 
 /**
  * Always subscribeOn and observeOn Schedulers.trampoline()
- * for immediate execution.
+ * for immediate execution, or the given scheduler,
+ * e.g. a TestScheduler to run on virtual time.
  */
 public class RxRule implements TestRule {
 
-    private final Scheduler trampoline = Schedulers.trampoline();
+    private final Scheduler scheduler;
+
+    public RxRule() {
+        this(Schedulers.trampoline());
+    }
+
+    public RxRule(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
 
     @Override
     public Statement apply(Statement base, Description description) {
         return new Statement() {
             @Override
             public void evaluate() throws Throwable {
-                RxAndroidPlugins.setMainThreadSchedulerHandler(scheduler -> trampoline);
-                RxJavaPlugins.setComputationSchedulerHandler(scheduler -> trampoline);
-                RxJavaPlugins.setIoSchedulerHandler(scheduler -> trampoline);
-                RxJavaPlugins.setNewThreadSchedulerHandler(scheduler -> trampoline);
+                RxAndroidPlugins.setMainThreadSchedulerHandler(s -> scheduler);
+                RxJavaPlugins.setComputationSchedulerHandler(s -> scheduler);
+                RxJavaPlugins.setIoSchedulerHandler(s -> scheduler);
+                RxJavaPlugins.setNewThreadSchedulerHandler(s -> scheduler);
+                RxJavaPlugins.setSingleSchedulerHandler(s -> scheduler);
                 try {
                     base.evaluate();
                 } finally {
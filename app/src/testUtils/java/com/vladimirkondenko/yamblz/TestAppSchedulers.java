@@ -0,0 +1,29 @@
+package com.vladimirkondenko.yamblz;
+
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
+
+import io.reactivex.Scheduler;
+
+/**
+ * Runs the network and computation work of the app on the given scheduler,
+ * e.g. Schedulers.trampoline() for immediate execution.
+ */
+public class TestAppSchedulers extends AppSchedulers {
+
+    private final Scheduler scheduler;
+
+    public TestAppSchedulers(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Scheduler network() {
+        return scheduler;
+    }
+
+    @Override
+    public Scheduler computation() {
+        return scheduler;
+    }
+
+}
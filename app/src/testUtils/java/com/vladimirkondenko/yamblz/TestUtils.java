@@ -1,5 +1,8 @@
 package com.vladimirkondenko.yamblz;
 
+import com.google.gson.Gson;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -24,6 +27,15 @@ public abstract class TestUtils {
         return json;
     }
 
+    /**
+     * Reads the bundled language list of the locale, see app/languages.
+     */
+    public static Languages getLanguages(String locale) {
+        Languages languages = new Gson().fromJson(getJsonFromTestAssets("input_languages_" + locale + ".json"), Languages.class);
+        languages.setUserLanguageCode(locale);
+        return languages;
+    }
+
     private static InputStream getFileInputStream(String jsonName) throws IOException {
         return getClassLoader().getResourceAsStream(jsonName);
     }
@@ -7,6 +7,7 @@ import com.vladimirkondenko.yamblz.dagger.modules.TestNetModule;
 import com.vladimirkondenko.yamblz.dagger.modules.TestServiceModule;
 import com.vladimirkondenko.yamblz.dagger.modules.TestTranslationModule;
 import com.vladimirkondenko.yamblz.utils.ApiKeyInterceptorTest;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
 
 import javax.inject.Singleton;
 
@@ -19,5 +20,7 @@ public interface TestAppComponent {
     TestMainPresenterSubcomponent plus(TestMainModule module);
     TestTranslationPresenterSubcomponent plus(TestTranslationModule module);
 
+    AppSchedulers getSchedulers();
+
     void inject(ApiKeyInterceptorTest test);
 }
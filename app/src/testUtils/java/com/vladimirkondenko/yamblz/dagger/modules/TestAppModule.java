@@ -2,12 +2,16 @@ package com.vladimirkondenko.yamblz.dagger.modules;
 
 import android.content.Context;
 
+import com.vladimirkondenko.yamblz.TestAppSchedulers;
+import com.vladimirkondenko.yamblz.utils.schedulers.AppSchedulers;
+
 import org.robolectric.RuntimeEnvironment;
 
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
+import io.reactivex.schedulers.Schedulers;
 
 @Module
 public class TestAppModule {
@@ -18,4 +22,10 @@ public class TestAppModule {
         return RuntimeEnvironment.application.getBaseContext();
     }
 
+    @Provides
+    @Singleton
+    public AppSchedulers provideSchedulers() {
+        return new TestAppSchedulers(Schedulers.trampoline());
+    }
+
 }
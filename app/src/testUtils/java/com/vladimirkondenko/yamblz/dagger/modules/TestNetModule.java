@@ -1,5 +1,7 @@
 package com.vladimirkondenko.yamblz.dagger.modules;
 
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
+
 import javax.inject.Singleton;
 
 import dagger.Module;
@@ -31,7 +33,7 @@ public class TestNetModule {
         return new Retrofit.Builder()
                 .baseUrl(server.url(""))
                 .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(ApiGson.create()))
                 .build();
     }
 
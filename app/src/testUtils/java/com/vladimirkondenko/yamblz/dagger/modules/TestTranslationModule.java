@@ -1,19 +1,30 @@
 package com.vladimirkondenko.yamblz.dagger.modules;
 
 
+import com.vladimirkondenko.yamblz.Const;
 import com.vladimirkondenko.yamblz.dagger.PerView;
 import com.vladimirkondenko.yamblz.model.database.Database;
 import com.vladimirkondenko.yamblz.model.database.DbSavedTranslationsServiceImpl;
+import com.vladimirkondenko.yamblz.model.database.SavedTranslationsFilter;
+import com.vladimirkondenko.yamblz.model.database.TranslationMemoryCache;
+import com.vladimirkondenko.yamblz.model.services.DbPendingTranslationsService;
 import com.vladimirkondenko.yamblz.model.services.DbSavedTranslationsService;
+import com.vladimirkondenko.yamblz.model.services.DbTranslationCacheService;
 import com.vladimirkondenko.yamblz.model.services.NetTranslationService;
+import com.vladimirkondenko.yamblz.screens.translation.TranslationDocument;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationInteractor;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationPresenter;
 import com.vladimirkondenko.yamblz.screens.translation.TranslationView;
+import com.vladimirkondenko.yamblz.utils.AdaptiveDebouncer;
+import com.vladimirkondenko.yamblz.utils.TextSegmenter;
 
 import org.mockito.Mockito;
 
 import dagger.Module;
 import dagger.Provides;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.schedulers.Schedulers;
 
 @Module
 public class TestTranslationModule extends BaseModule<TranslationView> {
@@ -30,14 +41,31 @@ public class TestTranslationModule extends BaseModule<TranslationView> {
 
     @Provides
     @PerView
-    public DbSavedTranslationsService provideSavedTranslationsService(Database database) {
-        return new DbSavedTranslationsServiceImpl(database);
+    public DbSavedTranslationsService provideSavedTranslationsService(Database database, TranslationMemoryCache memoryCache, SavedTranslationsFilter savedFilter) {
+        return new DbSavedTranslationsServiceImpl(database, memoryCache, savedFilter);
     }
 
     @Provides
     @PerView
-    public TranslationInteractor provideTranslationInteractor(NetTranslationService netService, DbSavedTranslationsService dbService) {
-        return new TranslationInteractor(netService, dbService);
+    public DbTranslationCacheService provideTranslationCacheService() {
+        DbTranslationCacheService cacheService = Mockito.mock(DbTranslationCacheService.class);
+        Mockito.when(cacheService.get(Mockito.anyString(), Mockito.anyString())).thenReturn(Maybe.empty());
+        return cacheService;
+    }
+
+    @Provides
+    @PerView
+    public DbPendingTranslationsService providePendingTranslationsService() {
+        DbPendingTranslationsService pendingService = Mockito.mock(DbPendingTranslationsService.class);
+        Mockito.when(pendingService.add(Mockito.anyString(), Mockito.anyString())).thenReturn(Completable.complete());
+        Mockito.when(pendingService.remove(Mockito.anyString(), Mockito.anyString())).thenReturn(Completable.complete());
+        return pendingService;
+    }
+
+    @Provides
+    @PerView
+    public TranslationInteractor provideTranslationInteractor(NetTranslationService netService, DbSavedTranslationsService dbService, DbTranslationCacheService cacheService, DbPendingTranslationsService pendingService) {
+        return new TranslationInteractor(netService, dbService, cacheService, pendingService, new AdaptiveDebouncer(Schedulers.trampoline(), 0, 0, 0), new TextSegmenter(Const.SEGMENT_MAX_LENGTH), new TranslationDocument(), text -> Maybe.empty());
     }
 
 
@@ -0,0 +1,95 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import com.vladimirkondenko.yamblz.utils.interceptors.ApiKeyInterceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Connection;
+import okhttp3.FormBody;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+
+/**
+ * Adding the API key to a query and to a form body, including writing the body out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApiKeyInterceptorBenchmark {
+
+    private static final String API_KEY = "trnsl.1.1.20170101T000000Z.0123456789abcdef.0123456789abcdef0123456789abcdef01234567";
+
+    private ApiKeyInterceptor interceptor;
+
+    private Request queryRequest;
+    private Request formRequest;
+
+    @Setup
+    public void setUp() {
+        interceptor = new ApiKeyInterceptor(API_KEY);
+        queryRequest = new Request.Builder()
+                .url("https://translate.yandex.net/api/v1.5/tr.json/getLangs?ui=en")
+                .build();
+        formRequest = new Request.Builder()
+                .url("https://translate.yandex.net/api/v1.5/tr.json/translate?lang=en-ru")
+                .post(new FormBody.Builder().add("text", "The quick brown fox jumps over the lazy dog").build())
+                .build();
+    }
+
+    @Benchmark
+    public Response query() throws IOException {
+        return interceptor.intercept(new WritingChain(queryRequest));
+    }
+
+    @Benchmark
+    public Response form() throws IOException {
+        return interceptor.intercept(new WritingChain(formRequest));
+    }
+
+    /**
+     * Writes the request body like the network would and responds right away.
+     */
+    private static final class WritingChain implements Interceptor.Chain {
+
+        private final Request request;
+
+        WritingChain(Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            if (request.body() != null) request.body().writeTo(new Buffer());
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Code the app no longer has, kept so the benchmarks can compare against it.
+ */
+final class Before {
+
+    private Before() {
+    }
+
+    // Utils.sortByValues, used on every resume until the language lists were sorted by collation keys
+    static <K, V extends Comparable> LinkedHashMap<K, V> sortByValues(Map<K, V> map) {
+        LinkedHashMap<K, V> sortedMap = new LinkedHashMap<>();
+        LinkedList<Map.Entry<K, V>> entries = new LinkedList<>(map.entrySet());
+        Collections.sort(entries, (entryA, entryB) -> entryA.getValue().compareTo(entryB.getValue()));
+        for (Iterator<Map.Entry<K, V>> it = entries.iterator(); it.hasNext(); ) {
+            Map.Entry<K, V> entry = it.next();
+            sortedMap.put(entry.getKey(), entry.getValue());
+        }
+        return sortedMap;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the bundled language lists and the recorded API responses.
+ */
+final class Fixtures {
+
+    static final String LANGUAGES_EN = "input_languages_en.json";
+    static final String LANGUAGES_RU = "input_languages_ru.json";
+    static final String TRANSLATION_EN_RU = "translation_en_ru_success.json";
+    static final String DETECTION_EN = "detect_en_success.json";
+
+    private Fixtures() {
+    }
+
+    static String read(String name) {
+        InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) throw new IllegalArgumentException("No fixture named " + name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) out.write(buffer, 0, read);
+            in.close();
+            return out.toString("UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + name, e);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import com.google.gson.Gson;
+import com.vladimirkondenko.yamblz.model.entities.DetectedLanguage;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.RealmGson;
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of API responses, reflective and streaming.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GsonBenchmark {
+
+    private Gson reflectiveGson;
+    private Gson streamingGson;
+
+    private String translationJson;
+    private String languagesJson;
+    private String detectionJson;
+
+    @Setup
+    public void setUp() {
+        reflectiveGson = RealmGson.create();
+        streamingGson = ApiGson.create();
+        translationJson = Fixtures.read(Fixtures.TRANSLATION_EN_RU);
+        languagesJson = Fixtures.read(Fixtures.LANGUAGES_EN);
+        detectionJson = Fixtures.read(Fixtures.DETECTION_EN);
+    }
+
+    @Benchmark
+    public Translation reflectiveTranslation() {
+        return reflectiveGson.fromJson(translationJson, Translation.class);
+    }
+
+    @Benchmark
+    public Translation streamingTranslation() {
+        return streamingGson.fromJson(translationJson, Translation.class);
+    }
+
+    @Benchmark
+    public Languages reflectiveLanguages() {
+        return reflectiveGson.fromJson(languagesJson, Languages.class);
+    }
+
+    @Benchmark
+    public Languages streamingLanguages() {
+        return streamingGson.fromJson(languagesJson, Languages.class);
+    }
+
+    @Benchmark
+    public DetectedLanguage reflectiveDetectedLanguage() {
+        return reflectiveGson.fromJson(detectionJson, DetectedLanguage.class);
+    }
+
+    @Benchmark
+    public DetectedLanguage streamingDetectedLanguage() {
+        return streamingGson.fromJson(detectionJson, DetectedLanguage.class);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageSearchIndex;
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A keystroke in the language picker on the full catalog: the first letter, which finds the most languages,
+ * a longer prefix, a word in the middle of a name and a Cyrillic name, against filtering every name
+ * the way a plain list filter does. Building the index is only done once per catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LanguageSearchBenchmark {
+
+    private LanguageIndex indexEn;
+    private LanguageSearchIndex searchEn;
+    private LanguageSearchIndex searchRu;
+
+    private int[] usageEn;
+    private int[] usageRu;
+
+    @Setup
+    public void setUp() {
+        indexEn = LanguageIndex.create(catalog(Fixtures.LANGUAGES_EN, "en"));
+        searchEn = indexEn.getSearchIndex();
+        searchRu = LanguageIndex.create(catalog(Fixtures.LANGUAGES_RU, "ru")).getSearchIndex();
+        // A user translating between English, Russian and German
+        Map<String, Integer> usage = new HashMap<>();
+        usage.put("en", 40);
+        usage.put("ru", 30);
+        usage.put("de", 10);
+        usageEn = searchEn.getUsage(usage);
+        usageRu = searchRu.getUsage(usage);
+    }
+
+    @Benchmark
+    public LanguageSearchIndex createSearchIndexEn() {
+        return LanguageSearchIndex.create(indexEn);
+    }
+
+    @Benchmark
+    public int[] searchFirstLetterEn() {
+        return searchEn.search("s", usageEn);
+    }
+
+    @Benchmark
+    public int[] searchPrefixEn() {
+        return searchEn.search("span", usageEn);
+    }
+
+    @Benchmark
+    public int[] searchWordEn() {
+        return searchEn.search("gaelic", usageEn);
+    }
+
+    @Benchmark
+    public int[] searchPrefixRu() {
+        return searchRu.search("анг", usageRu);
+    }
+
+    @Benchmark
+    public List<String> filterNamesEn() {
+        String query = "span";
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < indexEn.size(); i++) {
+            if (indexEn.getName(i).toLowerCase(Locale.ROOT).contains(query)) codes.add(indexEn.getCode(i));
+        }
+        return codes;
+    }
+
+    private static Languages catalog(String fixture, String locale) {
+        Languages languages = ApiGson.create().fromJson(Fixtures.read(fixture), Languages.class);
+        languages.setUserLanguageCode(locale);
+        return languages;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import com.google.gson.GsonBuilder;
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.utils.LanguageTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of the bundled languages on the first resume, from the raw JSON as before
+ * and from the compiled language table. Both start from the bytes of the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LanguageTableBenchmark {
+
+    private byte[] json;
+    private byte[] table;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Fixtures.read(Fixtures.LANGUAGES_RU).getBytes("UTF-8");
+        // Written the same way as by the build
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LanguageTable.write(json(), out);
+        table = out.toByteArray();
+    }
+
+    @Benchmark
+    public Languages json() throws IOException {
+        // What LanguageUtils and MainInteractor did: a new Gson, parsing, then sorting by name
+        Languages languages = new GsonBuilder().create()
+                .fromJson(new InputStreamReader(new ByteArrayInputStream(json), "UTF-8"), Languages.class);
+        languages.setLanguages(Before.sortByValues(languages.getLanguages()));
+        return languages;
+    }
+
+    @Benchmark
+    public Languages table() throws IOException {
+        return LanguageTable.read(new ByteArrayInputStream(table), "ru");
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import com.vladimirkondenko.yamblz.model.entities.Translation;
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of translated text for display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranslationBenchmark {
+
+    private Translation recordedTranslation;
+    private Translation multilineTranslation;
+
+    @Setup
+    public void setUp() {
+        recordedTranslation = ApiGson.create().fromJson(Fixtures.read(Fixtures.TRANSLATION_EN_RU), Translation.class);
+        multilineTranslation = new Translation(200, "en-ru", Arrays.asList(
+                "Съешь же ещё этих мягких французских булок,",
+                "да выпей чаю.",
+                "Широкая электрификация южных губерний даст мощный толчок подъёму сельского хозяйства."
+        ));
+    }
+
+    @Benchmark
+    public String formatRecorded() {
+        return recordedTranslation.getFormattedTranslatedText();
+    }
+
+    @Benchmark
+    public String formatMultiline() {
+        return multilineTranslation.getFormattedTranslatedText();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.vladimirkondenko.yamblz.benchmarks;
+
+import com.vladimirkondenko.yamblz.model.entities.Languages;
+import com.vladimirkondenko.yamblz.utils.LanguageIndex;
+import com.vladimirkondenko.yamblz.utils.LanguageIndexCache;
+import com.vladimirkondenko.yamblz.utils.LanguageUtils;
+import com.vladimirkondenko.yamblz.utils.Utils;
+import com.vladimirkondenko.yamblz.utils.gson.ApiGson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting of the language list, by string order and by collation keys, id hashing and direction parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UtilsBenchmark {
+
+    private Map<String, String> languagesEn;
+    private Map<String, String> languagesRu;
+
+    private Languages catalogRu;
+    private LanguageIndexCache indexCache;
+
+    private String inputText = "The quick brown fox jumps over the lazy dog";
+    private String direction = "en-ru";
+
+    @Setup
+    public void setUp() {
+        languagesEn = ApiGson.create().fromJson(Fixtures.read(Fixtures.LANGUAGES_EN), Languages.class).getLanguages();
+        languagesRu = ApiGson.create().fromJson(Fixtures.read(Fixtures.LANGUAGES_RU), Languages.class).getLanguages();
+        catalogRu = ApiGson.create().fromJson(Fixtures.read(Fixtures.LANGUAGES_RU), Languages.class);
+        catalogRu.setUserLanguageCode("ru");
+        indexCache = new LanguageIndexCache();
+    }
+
+    // How the list was sorted on every resume before the collation key index
+    @Benchmark
+    public LinkedHashMap<String, String> sortByValuesEn() {
+        return Before.sortByValues(languagesEn);
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, String> sortByValuesRu() {
+        return Before.sortByValues(languagesRu);
+    }
+
+    @Benchmark
+    public LanguageIndex createLanguageIndexRu() {
+        return LanguageIndex.create(catalogRu);
+    }
+
+    // What a bundled table costs, it was sorted at build time
+    @Benchmark
+    public LanguageIndex sortedLanguageIndexRu() {
+        return LanguageIndex.fromSorted(catalogRu);
+    }
+
+    // A resume with unchanged languages
+    @Benchmark
+    public LanguageIndex cachedLanguageIndexRu() {
+        return indexCache.get(catalogRu);
+    }
+
+    @Benchmark
+    public long hash64() {
+        return Utils.hash64(inputText, direction);
+    }
+
+    @Benchmark
+    public String[] parseDirection() {
+        return LanguageUtils.parseDirection(direction);
+    }
+
+    @Benchmark
+    public String langsToDirection() {
+        return LanguageUtils.langsToDirection("en", "ru");
+    }
+
+}